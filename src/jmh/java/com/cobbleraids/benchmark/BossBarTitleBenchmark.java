@@ -0,0 +1,70 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.CobbleRaids;
+import com.cobbleraids.benchmark.standin.StandInBossBar;
+import com.cobbleraids.config.GeneralRaidConfig;
+import com.cobbleraids.raid.RaidBossBar;
+import com.cobbleraids.utils.text.MessageTemplate;
+import net.minecraft.text.Text;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering: the old {@code String.replace} path against compiled {@link MessageTemplate}s for spawn messages,
+ * and the coalesced {@link RaidBossBar} being flushed every tick with the countdown only changing once a second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BossBarTitleBenchmark {
+    private final GeneralRaidConfig config = new GeneralRaidConfig();
+    private final StandInBossBar bar = new StandInBossBar();
+    private final RaidBossBar coalesced = new RaidBossBar(bar, config.getBossBarTitleTemplate(), (placeholder, out) -> out.append("Charizard"));
+    private long seconds;
+    private long ticks;
+
+    @Benchmark
+    public String formatTime() {
+        return CobbleRaids.formatTime(seconds++ % 3600);
+    }
+
+    @Benchmark
+    public Text updateNameWithTime() {
+        String time = CobbleRaids.formatTime(seconds++ % 3600);
+        String formattedName = config.getBossBarTitle()
+                .replace("{species}", "Charizard")
+                .replace("{time}", time);
+        return Text.literal(formattedName);
+    }
+
+    @Benchmark
+    public Text spawnMessageReplace() {
+        Text last = null;
+        for (String line : config.getSpawnMessage()) {
+            last = Text.literal(line.replace("{species}", "Charizard").replace("{coords}", "120, 64, -340"));
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Text spawnMessageTemplate() {
+        Text last = null;
+        for (MessageTemplate line : config.getSpawnMessageTemplates()) {
+            last = line.render((placeholder, out) -> out.append(placeholder == MessageTemplate.Placeholder.SPECIES ? "Charizard" : "120, 64, -340"));
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Text coalescedFlush() {
+        long tick = ticks++;
+        coalesced.setRemainingSeconds(3600 - (tick / 20) % 3600);
+        coalesced.setHealth(10_000L - tick % 10_000L, 10_000L);
+        coalesced.flush();
+        return bar.getName();
+    }
+}
@@ -0,0 +1,102 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.config.BossCatalog;
+import com.cobbleraids.config.RaidBossConfig;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link BossCatalog} open and full load on large boss catalogs, with and without a valid index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BossCatalogBenchmark {
+    @Param({"100", "2000"})
+    public int bosses;
+
+    private Path directory;
+    private BossCatalog catalog;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("cobbleraids-bench");
+        RaidBossConfig config = new RaidBossConfig();
+        config.bosses.clear();
+        for (int i = 0; i < bosses; i++) {
+            config.bosses.add(new RaidBossConfig.RaidBoss("species" + i, 50, 10_000L, 2.0f, 1.0,
+                    List.of(new RaidBossConfig.SpawnPoint("minecraft:overworld", i, 64, i)), 500L, 1800L));
+        }
+        // Opening over a single-file config splits it into one file per boss and writes the index.
+        Files.writeString(directory.resolve("config.jsonc"), new Gson().toJson(config), StandardCharsets.UTF_8);
+        BossCatalog first = new BossCatalog(directory);
+        first.open();
+        first.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeCatalog() {
+        if (catalog != null) catalog.close();
+        catalog = null;
+    }
+
+    @State(Scope.Thread)
+    public static class MissingIndex {
+        @Setup(Level.Invocation)
+        public void delete(BossCatalogBenchmark bench) throws IOException {
+            Files.deleteIfExists(bench.directory.resolve("index.json"));
+        }
+    }
+
+    /**
+     * Server start on a catalog whose index is gone: every boss file is parsed.
+     */
+    @Benchmark
+    public BossCatalog openWithoutIndex(MissingIndex missing) {
+        catalog = new BossCatalog(directory);
+        catalog.open();
+        return catalog;
+    }
+
+    /**
+     * Server start on an unchanged catalog: spawn selection data comes from the index.
+     */
+    @Benchmark
+    public BossCatalog openIndexed() {
+        catalog = new BossCatalog(directory);
+        catalog.open();
+        return catalog;
+    }
+
+    /**
+     * Server start with lazy boss loading off: open, then read every full definition.
+     */
+    @Benchmark
+    public BossCatalog openAndLoadAll() {
+        catalog = new BossCatalog(directory);
+        catalog.open();
+        catalog.loadAll().join();
+        return catalog;
+    }
+}
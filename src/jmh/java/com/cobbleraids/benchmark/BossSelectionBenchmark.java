@@ -0,0 +1,70 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.config.RaidBossConfig;
+import com.cobbleraids.raid.BossSpawnTable;
+import com.cobbleraids.raid.SpawnCandidate;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted boss selection as done by {@code attemptSpawnRaids}: the precompiled {@link BossSpawnTable} against the
+ * linear cumulative scan it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BossSelectionBenchmark {
+    @Param({"10", "500"})
+    public int bosses;
+
+    private List<RaidBossConfig.RaidBoss> bossList;
+    private BossSpawnTable spawnTable;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new Random(42);
+        bossList = new ArrayList<>();
+        List<SpawnCandidate> candidates = new ArrayList<>();
+        RegistryKey<World> overworld = RegistryKey.of(RegistryKeys.WORLD, Identifier.of("minecraft", "overworld"));
+        for (int i = 0; i < bosses; i++) {
+            RaidBossConfig.RaidBoss boss = new RaidBossConfig.RaidBoss("species" + i, 50, 10_000L, 2.0f, 0.1 + random.nextDouble(),
+                    List.of(new RaidBossConfig.SpawnPoint("minecraft:overworld", i, 64, i)), 500L, 1800L);
+            bossList.add(boss);
+            candidates.add(new SpawnCandidate(boss.species, boss.species, boss.spawnChance, SpawnCandidate.TimeOfDay.ANY, 0,
+                    List.of(new SpawnCandidate.SpawnLocation(overworld, new Vec3d(i, 64, i)))));
+        }
+        spawnTable = BossSpawnTable.build(candidates);
+    }
+
+    @Benchmark
+    public BossSpawnTable.Entry spawnTable() {
+        return spawnTable.sample(true, 10, random);
+    }
+
+    @Benchmark
+    public RaidBossConfig.RaidBoss linearScan() {
+        double totalWeight = bossList.stream().mapToDouble(b -> b.spawnChance).sum();
+        double randWeight = random.nextDouble() * totalWeight;
+        double cumulative = 0;
+        for (RaidBossConfig.RaidBoss boss : bossList) {
+            cumulative += boss.spawnChance;
+            if (randWeight <= cumulative) {
+                return boss;
+            }
+        }
+        return null;
+    }
+}
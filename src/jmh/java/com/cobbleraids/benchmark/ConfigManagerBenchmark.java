@@ -0,0 +1,91 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.config.GeneralRaidConfig;
+import com.cobbleraids.utils.config.ConfigManager;
+import com.cobbleraids.utils.config.ConfigMetadata;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link ConfigManager} load and migration merge on the general raid config, the config it manages in production.
+ * Raid bosses are loaded through {@link com.cobbleraids.config.BossCatalog}; see {@link BossCatalogBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigManagerBenchmark {
+    private Path configDir;
+    private ConfigManager<GeneralRaidConfig> manager;
+    private String[] currentContents;
+    private String outdatedContent;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configDir = Files.createTempDirectory("cobbleraids-bench");
+        GeneralRaidConfig config = new GeneralRaidConfig();
+        manager = new ConfigManager<>(config.getVersion(), config, GeneralRaidConfig.class, configDir, ConfigMetadata.defaultFor(config.getConfigId()));
+        String content = Files.readString(configDir.resolve("config.jsonc"), StandardCharsets.UTF_8);
+        String toggled = content.replace("\"maxActiveRaids\": 1", "\"maxActiveRaids\": 2");
+        if (toggled.equals(content)) throw new IllegalStateException("maxActiveRaids not found in the default config");
+        // Alternating between two contents keeps every invocation a real parse and apply.
+        currentContents = new String[] {content, toggled};
+        outdatedContent = content.replace("\"version\": \"" + config.getVersion() + "\"", "\"version\": \"0.9\"");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.shutdown();
+        try (Stream<Path> files = Files.walk(configDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CurrentFile {
+        private int invocation;
+
+        @Setup(Level.Invocation)
+        public void write(ConfigManagerBenchmark bench) throws IOException {
+            String content = bench.currentContents[invocation++ & 1];
+            Files.writeString(bench.configDir.resolve("config.jsonc"), content, StandardCharsets.UTF_8);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OutdatedFile {
+        @Setup(Level.Invocation)
+        public void write(ConfigManagerBenchmark bench) throws IOException {
+            Files.writeString(bench.configDir.resolve("config.jsonc"), bench.outdatedContent, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Plain load of an up-to-date file that differs from the one loaded before.
+     */
+    @Benchmark
+    public GeneralRaidConfig load(CurrentFile file) {
+        manager.reload();
+        return manager.getConfig();
+    }
+
+    /**
+     * Load of an outdated file: backup, merge with defaults and a synchronous save of the migrated config.
+     */
+    @Benchmark
+    public GeneralRaidConfig mergeAndSave(OutdatedFile file) {
+        manager.reload();
+        return manager.getConfig();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.benchmark.standin.StandInEntity;
+import com.cobbleraids.benchmark.standin.StandInRaid;
+import com.cobbleraids.config.GeneralRaidConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RaidProgress.applyDamage}, the core of {@code Raid.applyDamage}, with several battles hitting the same boss at once.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaidDamageBenchmark {
+    private StandInRaid raid;
+
+    @State(Scope.Thread)
+    public static class Attacker {
+        final UUID uuid = UUID.randomUUID();
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        raid = new StandInRaid(new StandInEntity(0, 64, 0), "pikachu", Long.MAX_VALUE, 1800L, 0, new GeneralRaidConfig());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public Object applyDamage(Attacker attacker) {
+        return raid.getProgress().applyDamage(attacker.uuid, 500L);
+    }
+}
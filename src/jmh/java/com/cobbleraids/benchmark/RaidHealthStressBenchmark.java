@@ -0,0 +1,49 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.raid.RaidHealth;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contended throughput of {@link RaidHealth}: eight battle threads hammer small health pools so that defeats race
+ * constantly, and whoever wins a defeat swaps in a fresh pool. The exactly-once guarantees themselves are checked
+ * by {@code RaidHealthTest}, which runs with the build.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaidHealthStressBenchmark {
+    private static final long MAX_HEALTH = 10_000L;
+    private static final long DAMAGE = 7L;
+
+    private final AtomicReference<RaidHealth> current = new AtomicReference<>();
+
+    @State(Scope.Thread)
+    public static class Attacker {
+        final UUID uuid = UUID.randomUUID();
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        current.set(new RaidHealth(MAX_HEALTH));
+    }
+
+    @Benchmark
+    @Group("stress")
+    @GroupThreads(8)
+    public RaidHealth.Outcome applyDamage(Attacker attacker) {
+        RaidHealth health = current.get();
+        RaidHealth.Outcome outcome = health.applyDamage(attacker.uuid, DAMAGE);
+        if (outcome == RaidHealth.Outcome.DEFEATED) {
+            health.transition(RaidHealth.Phase.DEFEATED, RaidHealth.Phase.CATCH_PHASE);
+            current.compareAndSet(health, new RaidHealth(MAX_HEALTH));
+        }
+        return outcome;
+    }
+}
@@ -0,0 +1,98 @@
+package com.cobbleraids.benchmark;
+
+import com.cobbleraids.benchmark.standin.StandInEntity;
+import com.cobbleraids.benchmark.standin.StandInRaid;
+import com.cobbleraids.config.GeneralRaidConfig;
+import com.cobbleraids.raid.PlayerProximityTracker;
+import com.cobbleraids.utils.scheduler.TickScheduler;
+import com.cobbleraids.utils.scheduler.TimeSlicer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code RaidManager.tick} pass: the time-sliced countdowns (each raid once per 20 ticks, within the default
+ * budget), boss bar flushes per raid, the proximity sweep every 20 ticks and the timing wheel advance. Bosses,
+ * players and boss bars are stand-ins; {@link TimeSlicer}, {@code RaidProgress}, {@code RaidBossBar},
+ * {@link PlayerProximityTracker} and {@link TickScheduler} are the production classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaidTickBenchmark {
+    private static final int RAID_UPDATE_PERIOD_TICKS = 20;
+    private static final int PROXIMITY_INTERVAL_TICKS = 20;
+    private static final double BOSS_BAR_RADIUS = 150.0;
+
+    @Param({"1", "10", "100"})
+    public int raids;
+
+    @Param({"10", "200"})
+    public int players;
+
+    private final List<StandInRaid> activeRaids = new ArrayList<>();
+    private final List<StandInEntity> onlinePlayers = new ArrayList<>();
+    private final PlayerProximityTracker<StandInEntity> proximityTracker = new PlayerProximityTracker<>(StandInEntity.PLAYERS);
+    private TickScheduler scheduler;
+    private TimeSlicer<StandInRaid> raidUpdates;
+    private long budgetNanos;
+    private long currentTick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        GeneralRaidConfig config = new GeneralRaidConfig();
+        scheduler = new TickScheduler();
+        raidUpdates = new TimeSlicer<>(RAID_UPDATE_PERIOD_TICKS);
+        budgetNanos = config.getRaidTickBudgetNanos();
+        for (int i = 0; i < raids; i++) {
+            StandInEntity boss = new StandInEntity(random.nextInt(4000) - 2000, 64, random.nextInt(4000) - 2000);
+            StandInRaid raid = new StandInRaid(boss, "pikachu", 10_000L, 1800L, random.nextInt(100), config);
+            activeRaids.add(raid);
+            raidUpdates.add(raid);
+            proximityTracker.track(boss.getUuid(), boss, BOSS_BAR_RADIUS, new PlayerProximityTracker.Listener<>() {
+                @Override
+                public void onEnter(StandInEntity player) { raid.getBossBar().addPlayer(player); }
+
+                @Override
+                public void onLeave(StandInEntity player) { raid.getBossBar().removePlayer(player); }
+            });
+            // A particle emitter and a countdown per raid, like a defeated boss in its catch phase.
+            scheduler.scheduleRepeating(boss.getUuid(), random.nextInt(10), 10, task -> {});
+            scheduler.scheduleRepeating(boss.getUuid(), random.nextInt(20), 20, task -> {});
+        }
+        for (int i = 0; i < players; i++) {
+            StandInEntity anchor = activeRaids.get(i % raids).getBossEntity();
+            onlinePlayers.add(new StandInEntity(anchor.getX() + random.nextInt(400) - 200, 64, anchor.getZ() + random.nextInt(400) - 200));
+        }
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        currentTick++;
+        for (int i = 0; i < onlinePlayers.size(); i++) {
+            onlinePlayers.get(i).moveBy(((currentTick + i) & 1) == 0 ? 0.2 : -0.2, 0.15);
+        }
+
+        raidUpdates.tick(currentTick, budgetNanos, raid -> {
+            if (raid.getBossEntity().isRemoved()) return;
+            blackhole.consume(raid.getProgress().updateCountdown(currentTick));
+        });
+        for (StandInRaid raid : activeRaids) {
+            raid.getProgress().flushBossBar();
+        }
+
+        if (currentTick % PROXIMITY_INTERVAL_TICKS == 0) {
+            proximityTracker.tick(onlinePlayers);
+        }
+        scheduler.tick();
+        blackhole.consume(scheduler.size());
+    }
+}
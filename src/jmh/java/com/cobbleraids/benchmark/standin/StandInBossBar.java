@@ -0,0 +1,53 @@
+package com.cobbleraids.benchmark.standin;
+
+import net.minecraft.entity.boss.BossBar;
+import net.minecraft.text.Text;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Headless stand-in for {@code ServerBossBar}. Counts the packets a real bar would send, one per viewer per change.
+ */
+public class StandInBossBar extends BossBar {
+    private final Set<StandInEntity> players = new LinkedHashSet<>();
+    private long packetsSent;
+
+    public StandInBossBar() {
+        super(UUID.randomUUID(), Text.empty(), Color.PURPLE, Style.PROGRESS);
+    }
+
+    @Override
+    public void setPercent(float percent) {
+        if (percent != this.percent) {
+            super.setPercent(percent);
+            packetsSent += players.size();
+        }
+    }
+
+    @Override
+    public void setName(Text name) {
+        if (!Objects.equals(name, this.name)) {
+            super.setName(name);
+            packetsSent += players.size();
+        }
+    }
+
+    public void addPlayer(StandInEntity player) {
+        if (players.add(player)) packetsSent++;
+    }
+
+    public void removePlayer(StandInEntity player) {
+        if (players.remove(player)) packetsSent++;
+    }
+
+    public Collection<StandInEntity> getPlayers() {
+        return Collections.unmodifiableCollection(players);
+    }
+
+    public long getPacketsSent() { return packetsSent; }
+}
@@ -0,0 +1,61 @@
+package com.cobbleraids.benchmark.standin;
+
+import com.cobbleraids.raid.PlayerProximityTracker;
+
+import java.util.UUID;
+
+/**
+ * Headless stand-in for a Minecraft entity: just an identity and a position, all in one world.
+ */
+public class StandInEntity implements PlayerProximityTracker.Anchor {
+    private static final Object WORLD = new Object();
+
+    /** Reads stand-ins as players for {@link PlayerProximityTracker}. */
+    public static final PlayerProximityTracker.PlayerView<StandInEntity> PLAYERS = new PlayerProximityTracker.PlayerView<>() {
+        @Override
+        public UUID uuid(StandInEntity player) { return player.uuid; }
+
+        @Override
+        public Object world(StandInEntity player) { return WORLD; }
+
+        @Override
+        public double x(StandInEntity player) { return player.x; }
+
+        @Override
+        public double z(StandInEntity player) { return player.z; }
+    };
+
+    private final UUID uuid = UUID.randomUUID();
+    private double x;
+    private double y;
+    private double z;
+    private boolean removed;
+
+    public StandInEntity(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public UUID getUuid() { return uuid; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public boolean isRemoved() { return removed; }
+
+    public void setRemoved(boolean removed) { this.removed = removed; }
+
+    public void moveBy(double dx, double dz) {
+        this.x += dx;
+        this.z += dz;
+    }
+
+    @Override
+    public Object world() { return WORLD; }
+
+    @Override
+    public double x() { return x; }
+
+    @Override
+    public double z() { return z; }
+}
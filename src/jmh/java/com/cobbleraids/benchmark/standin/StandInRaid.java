@@ -0,0 +1,35 @@
+package com.cobbleraids.benchmark.standin;
+
+import com.cobbleraids.config.GeneralRaidConfig;
+import com.cobbleraids.raid.RaidProgress;
+
+/**
+ * A raid on stand-in types: the real {@link RaidProgress}, drawing on a {@link StandInBossBar}, around a
+ * {@link StandInEntity} boss. Only the boss-dependent title placeholders are supplied here; everything the
+ * benchmarks measure is production code.
+ */
+public class StandInRaid {
+    private final StandInEntity bossEntity;
+    private final StandInBossBar bossBar = new StandInBossBar();
+    private final RaidProgress progress;
+
+    public StandInRaid(StandInEntity bossEntity, String species, long maxHealth, long despawnTimeSeconds, long creationTick, GeneralRaidConfig generalConfig) {
+        this.bossEntity = bossEntity;
+        this.progress = new RaidProgress(maxHealth, despawnTimeSeconds, creationTick, bossBar, generalConfig.getBossBarTitleTemplate(),
+                (placeholder, out) -> {
+                    switch (placeholder) {
+                        case SPECIES -> out.append(species);
+                        case COORDS -> out.append(Math.round(bossEntity.getX())).append(", ")
+                                .append(Math.round(bossEntity.getY())).append(", ")
+                                .append(Math.round(bossEntity.getZ()));
+                        case HP -> out.append(getProgress().getHealth().getCurrentHealth()).append('/').append(getProgress().getHealth().getMaxHealth());
+                        default -> { }
+                    }
+                });
+        progress.flushBossBar();
+    }
+
+    public StandInEntity getBossEntity() { return bossEntity; }
+    public StandInBossBar getBossBar() { return bossBar; }
+    public RaidProgress getProgress() { return progress; }
+}
@@ -19,21 +19,47 @@ import com.cobblemon.mod.common.entity.PoseType;
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.cobblemon.mod.common.pokemon.properties.UncatchableProperty;
+import com.cobbleraids.config.BossCatalog;
 import com.cobbleraids.config.GeneralRaidConfig;
-import com.cobbleraids.config.RaidBossConfig;
 import com.cobbleraids.goals.BossGoals;
 import com.cobbleraids.api.BossInvulnerabilityAccessor;
+import com.cobbleraids.api.RaidEvent;
+import com.cobbleraids.api.RaidEventBus;
 import com.cobbleraids.mixin.accessors.LivingEntityAccessor;
+import com.cobbleraids.persistence.RaidJournal;
+import com.cobbleraids.persistence.RaidLedger;
+import com.cobbleraids.persistence.RaidState;
+import com.cobbleraids.raid.BossBlueprint;
+import com.cobbleraids.raid.BossSpawnTable;
+import com.cobbleraids.raid.CloneTemplate;
+import com.cobbleraids.raid.CombatantRegistry;
+import com.cobbleraids.raid.ParticleEmitterService;
+import com.cobbleraids.raid.PlayerProximityTracker;
+import com.cobbleraids.raid.RaidHealth;
+import com.cobbleraids.raid.RaidMetrics;
+import com.cobbleraids.raid.RaidProfiler;
+import com.cobbleraids.raid.RaidProgress;
+import com.cobbleraids.raid.SpawnCandidate;
+import com.cobbleraids.raid.SpawnChunkPrewarmer;
+import com.cobbleraids.utils.command.CommandManager;
+import com.cobbleraids.utils.config.ConfigIoService;
 import com.cobbleraids.utils.config.ConfigManager;
 import com.cobbleraids.utils.config.ConfigMetadata;
-import com.mojang.brigadier.CommandDispatcher;
+import com.cobbleraids.utils.metrics.MetricsRegistry;
+import com.cobbleraids.utils.metrics.PrometheusExporter;
+import com.cobbleraids.utils.scheduler.TickScheduler;
+import com.cobbleraids.utils.scheduler.TimeSlicer;
+import com.cobbleraids.utils.text.MessageTemplate;
 import com.mojang.brigadier.arguments.FloatArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.LongArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
 import net.fabricmc.api.ModInitializer;
-import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
@@ -43,26 +69,33 @@ import net.minecraft.entity.boss.BossBar;
 import net.minecraft.entity.boss.ServerBossBar;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.particle.ParticleEffect;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.registry.RegistryKey;
-import net.minecraft.registry.RegistryKeys;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.WorldSavePath;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class CobbleRaids implements ModInitializer {
     public static final String MOD_ID = "cobbleraid";
@@ -71,82 +104,133 @@ public class CobbleRaids implements ModInitializer {
     private static final Map<UUID, ServerBossBar> catchableBossAnticipationBars = new ConcurrentHashMap<>();
     private static final Map<UUID, ServerBossBar> catchableBossCatchBars = new ConcurrentHashMap<>();
     private static final Map<UUID, UUID> playerToCatchableBossEntityMap = new ConcurrentHashMap<>();
-    private static final Map<UUID, TimerTask> particleTasks = new ConcurrentHashMap<>();
 
-    private static final Timer timer = new Timer("CobbleRaidTimer", true);
+    private static final int PARTICLE_INTERVAL_TICKS = 10;
+    private static final int COUNTDOWN_INTERVAL_TICKS = 20;
+    private static final int DEFEATED_BOSS_DISCARD_TICKS = 320; // 15s anticipation + 1s buffer
+    private static final int JOURNAL_SNAPSHOT_INTERVAL_TICKS = 1200;
+    private static final int JOURNAL_CLOCK_INTERVAL_TICKS = 100;
+    private static final int RECOVERY_GRACE_TICKS = 6000;
+    private static final int PROXIMITY_INTERVAL_TICKS = 20;
+    private static final int RAID_UPDATE_PERIOD_TICKS = 20;
+    private static final double BOSS_BAR_RADIUS = 150.0;
+    private static final int HISTORY_LIMIT = 10;
+    private static final DateTimeFormatter HISTORY_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
     private static final Random random = new Random();
 
     public static RaidManager raidManager;
 
-    private ConfigManager<RaidBossConfig> bossConfigManager;
+    private BossCatalog bossCatalog;
     private ConfigManager<GeneralRaidConfig> generalConfigManager;
-    private RaidBossConfig bossConfig;
-    private GeneralRaidConfig generalConfig;
+    private volatile BossSpawnTable spawnTable = BossSpawnTable.EMPTY;
+    private final Map<String, CompletableFuture<BossBlueprint>> blueprints = new ConcurrentHashMap<>();
+    private final Set<String> reportedBossErrors = ConcurrentHashMap.newKeySet();
+    @Nullable
+    private volatile MinecraftServer runningServer;
+    private volatile GeneralRaidConfig generalConfig;
+    @Nullable
+    private PrometheusExporter metricsExporter;
 
     // --- Raid Class ---
     public static class Raid {
         private final PokemonEntity bossEntity;
-        private final long maxHealth;
-        private long currentHealth;
+        private final RaidProgress progress;
+        private final RaidHealth health;
         private final ServerBossBar bossBar;
-        private final Map<UUID, Long> damagers = new ConcurrentHashMap<>();
         private final Set<UUID> battledPlayers = ConcurrentHashMap.newKeySet();
+        private final Map<UUID, String> playerNames = new ConcurrentHashMap<>();
+        private final CombatantRegistry combatants = new CombatantRegistry();
+        private final CloneTemplate cloneTemplate;
         private final long damagePerWin;
-        private final long creationTick;
-        private final long despawnTimeSeconds;
         private final GeneralRaidConfig generalConfig;
-        private UUID lastAttacker;
+        private final String species;
 
         public Raid(PokemonEntity bossEntity, long maxHealth, long damagePerWin, long despawnTimeSeconds, long creationTick, GeneralRaidConfig generalConfig) {
             this.bossEntity = bossEntity;
-            this.maxHealth = maxHealth;
-            this.currentHealth = maxHealth;
             this.damagePerWin = damagePerWin;
-            this.despawnTimeSeconds = despawnTimeSeconds;
-            this.creationTick = creationTick;
             this.generalConfig = generalConfig;
+            this.species = bossEntity.getPokemon().getSpecies().getName();
+            this.cloneTemplate = CloneTemplate.capture(bossEntity, bossEntity.getWorld().getRegistryManager());
             this.bossBar = new ServerBossBar(Text.literal(""), BossBar.Color.PURPLE, BossBar.Style.PROGRESS);
-            updateBossBar();
-            updateNameWithTime(formatTime(despawnTimeSeconds));
+            this.progress = new RaidProgress(maxHealth, despawnTimeSeconds, creationTick, bossBar,
+                    generalConfig.getBossBarTitleTemplate(), this::appendPlaceholder);
+            this.health = progress.getHealth();
+            flushBossBar();
         }
 
         public UUID getBossUuid() { return bossEntity.getUuid(); }
         public PokemonEntity getBossEntity() { return bossEntity; }
-        public Map<UUID, Long> getDamagers() { return damagers; }
+        public Map<UUID, Long> getDamagers() { return health.snapshotDamagers(); }
+        public RaidHealth getHealth() { return health; }
         public long getDamagePerWin() { return damagePerWin; }
-        public long getCreationTick() { return creationTick; }
-        public long getDespawnTimeSeconds() { return despawnTimeSeconds; }
+        public RaidProgress getProgress() { return progress; }
+        public long getCreationTick() { return progress.getCreationTick(); }
+        public long getDespawnTimeSeconds() { return progress.getDespawnTimeSeconds(); }
         public ServerBossBar getBossBar() { return bossBar; }
-        public UUID getLastAttacker() { return lastAttacker; }
-
-        public void applyDamage(ServerPlayerEntity player, long damage) {
-            this.currentHealth = Math.max(0, this.currentHealth - damage);
-            this.damagers.merge(player.getUuid(), damage, Long::sum);
-            this.lastAttacker = player.getUuid();
-            updateBossBar();
+        public UUID getLastAttacker() { return progress.getLastAttacker(); }
+        public CombatantRegistry getCombatants() { return combatants; }
+        public CloneTemplate getCloneTemplate() { return cloneTemplate; }
+
+        /**
+         * Applies a win's worth of damage. Safe to call from several battle threads at once.
+         * @return {@link RaidHealth.Outcome#DEFEATED} for exactly one caller per raid, which must run the defeat sequence.
+         */
+        public RaidHealth.Outcome applyDamage(ServerPlayerEntity player, long damage) {
+            playerNames.put(player.getUuid(), player.getName().getString());
+            RaidHealth.Outcome outcome = progress.applyDamage(player.getUuid(), damage);
 
             // Flash the boss red if not defeated
-            if (this.currentHealth > 0) {
+            if (outcome == RaidHealth.Outcome.DAMAGED) {
                 ((LivingEntityAccessor) this.bossEntity).setHurtTime(10);
             }
+            return outcome;
         }
 
         public boolean isDefeated() {
-            return this.currentHealth <= 0;
+            return health.isDefeated();
         }
 
-        public void updateBossBar() {
-            bossBar.setPercent((float) currentHealth / maxHealth);
+        /**
+         * Sends pending boss bar changes to viewers. Called once per tick from the server thread.
+         */
+        public void flushBossBar() {
+            progress.flushBossBar();
+        }
+
+        /**
+         * Resolves the boss bar title's placeholders. {@code {time}} never reaches this:
+         * {@link com.cobbleraids.raid.RaidBossBar} fills it from the countdown.
+         */
+        private void appendPlaceholder(MessageTemplate.Placeholder placeholder, StringBuilder out) {
+            switch (placeholder) {
+                case SPECIES -> out.append(species);
+                case COORDS -> out.append(Math.round(bossEntity.getX())).append(", ")
+                        .append(Math.round(bossEntity.getY())).append(", ")
+                        .append(Math.round(bossEntity.getZ()));
+                case HP -> out.append(health.getCurrentHealth()).append('/').append(health.getMaxHealth());
+                case PLAYERS -> out.append(battledPlayers.size());
+                case TOP_DAMAGER -> {
+                    RaidHealth.TopDamager top = health.getTopDamager();
+                    out.append(top == null ? "-" : getPlayerName(top.playerUuid()));
+                }
+            }
         }
 
-        public void updateNameWithTime(String time) {
-            String formattedName = generalConfig.getBossBarTitle()
-                    .replace("{species}", bossEntity.getPokemon().getSpecies().getName())
-                    .replace("{time}", time);
-            bossBar.setName(Text.literal(formattedName));
+        private String getPlayerName(UUID playerUuid) {
+            String name = playerNames.get(playerUuid);
+            if (name != null) return name;
+            MinecraftServer server = bossEntity.getServer();
+            ServerPlayerEntity player = server != null ? server.getPlayerManager().getPlayer(playerUuid) : null;
+            if (player == null) return "Unknown";
+            name = player.getName().getString();
+            playerNames.put(playerUuid, name);
+            return name;
         }
 
         public void end() {
+            health.end();
+            cloneTemplate.clear();
             bossBar.clearPlayers();
         }
 
@@ -156,8 +240,38 @@ public class CobbleRaids implements ModInitializer {
             }
         }
 
-        public void addBattledPlayer(UUID playerUuid) {
-            battledPlayers.add(playerUuid);
+        public boolean addBattledPlayer(UUID playerUuid) {
+            boolean added = battledPlayers.add(playerUuid);
+            if (added && progress.getBossBar().getTitle().uses(MessageTemplate.Placeholder.PLAYERS)) progress.getBossBar().markTitleDirty();
+            return added;
+        }
+
+        public RaidState toState(long currentTick) {
+            return new RaidState(getBossUuid(), health.getMaxHealth(), health.getCurrentHealth(), damagePerWin, getDespawnTimeSeconds(),
+                    currentTick - getCreationTick(), health.snapshotDamagers(), battledPlayers);
+        }
+
+        /**
+         * What each player contributed, for the {@link RaidLedger}. Players who battled without landing a win are included with no damage.
+         */
+        public RaidLedger.RaidResult toResult(RaidLedger.Outcome outcome, long currentTick) {
+            Map<UUID, Long> damagers = health.snapshotDamagers();
+            Set<UUID> players = new LinkedHashSet<>(damagers.keySet());
+            players.addAll(battledPlayers);
+            List<RaidLedger.PlayerResult> results = new ArrayList<>(players.size());
+            for (UUID playerUuid : players) {
+                long damage = damagers.getOrDefault(playerUuid, 0L);
+                results.add(new RaidLedger.PlayerResult(playerUuid, getPlayerName(playerUuid), damage, damagePerWin > 0 ? damage / damagePerWin : 0));
+            }
+            return new RaidLedger.RaidResult(getBossUuid(), species, outcome, System.currentTimeMillis(), currentTick - getCreationTick(),
+                    health.getMaxHealth(), health.getCurrentHealth(), results);
+        }
+
+        public void restore(RaidState state) {
+            health.restore(state.getCurrentHealth(), state.getDamagers());
+            this.battledPlayers.addAll(state.getBattledPlayers());
+            progress.updateBossBar();
+            progress.getBossBar().markTitleDirty();
         }
 
         public void removePlayerFromBossBar(ServerPlayerEntity player) {
@@ -168,8 +282,22 @@ public class CobbleRaids implements ModInitializer {
     // --- RaidManager Class ---
     public static class RaidManager {
         private final Map<UUID, Raid> activeRaids = new ConcurrentHashMap<>();
+        private final TickScheduler scheduler = new TickScheduler();
+        private final PlayerProximityTracker<ServerPlayerEntity> proximityTracker = new PlayerProximityTracker<>(PlayerProximityTracker.SERVER_PLAYERS);
+        private final ParticleEmitterService particles = new ParticleEmitterService();
+        private final RaidMetrics metrics = new RaidMetrics();
+        private final RaidProfiler profiler = new RaidProfiler();
+        private final SpawnChunkPrewarmer spawnPrewarmer = new SpawnChunkPrewarmer(scheduler);
+        /** Per-raid upkeep, each raid once per {@link #RAID_UPDATE_PERIOD_TICKS} on its own staggered tick. */
+        private final TimeSlicer<Raid> raidUpdates = new TimeSlicer<>(RAID_UPDATE_PERIOD_TICKS);
+        private final Map<UUID, UUID> combatantRaids = new ConcurrentHashMap<>();
+        private final Map<UUID, RaidState> pendingRecovery = new HashMap<>();
         private MinecraftServer server;
-        private GeneralRaidConfig generalConfig;
+        private volatile GeneralRaidConfig generalConfig;
+        @Nullable
+        private RaidJournal journal;
+        @Nullable
+        private RaidLedger ledger;
 
         public void setServer(MinecraftServer server) { this.server = server; }
         public void setConfig(GeneralRaidConfig config) { this.generalConfig = config; }
@@ -181,15 +309,225 @@ public class CobbleRaids implements ModInitializer {
             }
             Raid raid = new Raid(bossEntity, maxHealth, damagePerWin, despawnTimeSeconds, server.getTicks(), generalConfig);
             activeRaids.put(bossEntity.getUuid(), raid);
+            raidUpdates.add(raid);
+            metrics.raidsStarted.increment();
+            trackProximity(raid);
+            if (journal != null) {
+                journal.raidCreated(bossEntity.getUuid(), maxHealth, maxHealth, damagePerWin, despawnTimeSeconds, server.getTicks());
+            }
+            RaidEventBus.getInstance().post(new RaidEvent.Spawned(bossEntity.getUuid(), bossEntity.getPokemon().getSpecies().getName(),
+                    bossEntity.getWorld().getRegistryKey().getValue(), bossEntity.getPos(), maxHealth));
         }
 
         public void endRaid(UUID bossUuid) {
+            endRaid(bossUuid, RaidLedger.Outcome.CANCELLED);
+        }
+
+        /**
+         * Ends the raid and records its result in the ledger.
+         */
+        public void endRaid(UUID bossUuid, RaidLedger.Outcome outcome) {
             Raid raid = activeRaids.remove(bossUuid);
             if (raid != null) {
+                if (ledger != null) {
+                    ledger.record(raid.toResult(outcome, server != null ? server.getTicks() : raid.getCreationTick()));
+                }
+                raidUpdates.remove(raid);
+                proximityTracker.untrack(bossUuid);
+                raid.getCombatants().getPlayers().forEach(playerUuid -> combatantRaids.remove(playerUuid, bossUuid));
+                raid.getCombatants().clear();
                 raid.end();
+                if (journal != null) {
+                    journal.raidEnded(bossUuid);
+                }
+                String species = raid.getBossEntity().getPokemon().getSpecies().getName();
+                if (outcome == RaidLedger.Outcome.DESPAWNED) {
+                    RaidEventBus.getInstance().post(new RaidEvent.Despawned(bossUuid, species));
+                }
+                RaidEvent.Ended.Reason reason = switch (outcome) {
+                    case DEFEATED -> RaidEvent.Ended.Reason.DEFEATED;
+                    case DESPAWNED -> RaidEvent.Ended.Reason.DESPAWNED;
+                    case REMOVED -> RaidEvent.Ended.Reason.REMOVED;
+                    case CANCELLED -> RaidEvent.Ended.Reason.CANCELLED;
+                };
+                RaidEventBus.getInstance().post(new RaidEvent.Ended(bossUuid, species, reason));
             }
         }
 
+        public RaidHealth.Outcome applyDamage(Raid raid, ServerPlayerEntity player, long damage) {
+            RaidJournal journal = this.journal;
+            RaidHealth.Outcome outcome = journal == null
+                    ? raid.applyDamage(player, damage)
+                    : journal.raidDamaged(raid.getBossUuid(), player.getUuid(), damage, () -> raid.applyDamage(player, damage),
+                            result -> result != RaidHealth.Outcome.REJECTED);
+            if (outcome == RaidHealth.Outcome.REJECTED) {
+                metrics.damageRejected.increment();
+                return outcome;
+            }
+            metrics.damageEvents.increment();
+            if (outcome == RaidHealth.Outcome.DEFEATED) {
+                metrics.raidsDefeated.increment();
+            }
+            RaidEventBus.getInstance().post(new RaidEvent.Damaged(raid.getBossUuid(), player.getUuid(), damage,
+                    raid.getHealth().getCurrentHealth(), raid.getHealth().getMaxHealth()));
+            return outcome;
+        }
+
+        /**
+         * Registers a challenger as an active combatant of the raid, replacing any raid they were fighting before.
+         */
+        public void trackCombatant(Raid raid, ServerPlayerEntity player, @Nullable PokemonEntity sentOut) {
+            UUID previousBoss = combatantRaids.put(player.getUuid(), raid.getBossUuid());
+            if (previousBoss != null && !previousBoss.equals(raid.getBossUuid())) {
+                Raid previousRaid = activeRaids.get(previousBoss);
+                if (previousRaid != null) previousRaid.getCombatants().untrack(player.getUuid());
+            }
+            raid.getCombatants().track(player.getUuid(), sentOut);
+        }
+
+        public void untrackCombatant(UUID playerUuid) {
+            UUID bossUuid = combatantRaids.remove(playerUuid);
+            if (bossUuid == null) return;
+            Raid raid = activeRaids.get(bossUuid);
+            if (raid != null) raid.getCombatants().untrack(playerUuid);
+        }
+
+        public void onPokemonSentOut(PokemonEntity entity) {
+            UUID ownerUuid = entity.getPokemon().getOwnerUUID();
+            if (ownerUuid == null) return;
+            UUID bossUuid = combatantRaids.get(ownerUuid);
+            if (bossUuid == null) return;
+            Raid raid = activeRaids.get(bossUuid);
+            if (raid != null) raid.getCombatants().updateEntity(ownerUuid, entity);
+        }
+
+        /**
+         * Records how a player's catch phase ended. Only called on the server thread.
+         */
+        public void recordCatch(UUID bossUuid, UUID playerUuid, RaidLedger.CatchOutcome outcome) {
+            if (ledger != null) ledger.recordCatch(bossUuid, playerUuid, outcome);
+        }
+
+        /**
+         * @return the raid history of the current world, or null if it could not be opened.
+         */
+        @Nullable
+        public RaidLedger getLedger() {
+            return ledger;
+        }
+
+        /**
+         * Opens the raid journal and ledger for the current world and queues every raid the journal recovered for
+         * reattachment. Bosses that are already loaded are reattached immediately; the rest are picked up as their
+         * chunks load.
+         */
+        public void openJournal(MinecraftServer server) {
+            setServer(server);
+            Path journalDir = server.getSavePath(WorldSavePath.ROOT).resolve("cobbleraids");
+            try {
+                ledger = RaidLedger.open(journalDir);
+            } catch (IOException e) {
+                LOGGER.error("Could not open the raid ledger at '{}'. Raid results will not be recorded.", journalDir, e);
+            }
+            try {
+                journal = RaidJournal.open(journalDir);
+            } catch (IOException e) {
+                LOGGER.error("Could not open the raid journal at '{}'. Raid progress will not survive a restart.", journalDir, e);
+                return;
+            }
+
+            for (RaidState state : journal.getRecoveredRaids()) {
+                pendingRecovery.put(state.getBossUuid(), state);
+            }
+            for (ServerWorld world : server.getWorlds()) {
+                for (RaidState state : List.copyOf(pendingRecovery.values())) {
+                    Entity entity = world.getEntity(state.getBossUuid());
+                    if (entity != null) onEntityLoad(entity);
+                }
+            }
+
+            // Drops the previous run's records, whose ticks mean nothing in this run.
+            journal.snapshot(this::captureStates);
+            scheduler.scheduleRepeating(null, JOURNAL_SNAPSHOT_INTERVAL_TICKS, JOURNAL_SNAPSHOT_INTERVAL_TICKS, task -> {
+                if (journal != null) journal.snapshot(this::captureStates);
+            });
+            scheduler.scheduleRepeating(null, JOURNAL_CLOCK_INTERVAL_TICKS, JOURNAL_CLOCK_INTERVAL_TICKS, task -> {
+                if (journal != null && !activeRaids.isEmpty()) journal.clock(server.getTicks());
+            });
+            if (!pendingRecovery.isEmpty()) {
+                scheduler.schedule(null, RECOVERY_GRACE_TICKS, task -> expirePendingRecoveries());
+            }
+        }
+
+        /**
+         * Writes a final snapshot, closes the journal and ledger and forgets all in-memory raids without journaling
+         * them as ended. Raids still running are recorded in the ledger when they end after the restart.
+         */
+        public void closeJournal() {
+            if (journal != null) {
+                journal.close(this::captureStates);
+                journal = null;
+            }
+            if (ledger != null) {
+                ledger.close();
+                ledger = null;
+            }
+            activeRaids.values().forEach(Raid::end);
+            activeRaids.clear();
+            raidUpdates.clear();
+            pendingRecovery.clear();
+            combatantRaids.clear();
+            proximityTracker.clear();
+            particles.clear();
+            spawnPrewarmer.clear();
+            scheduler.clear();
+        }
+
+        /**
+         * Shows the boss bar to players within {@link #BOSS_BAR_RADIUS} blocks, unless it is only shown after battling.
+         */
+        private void trackProximity(Raid raid) {
+            if (generalConfig.shouldShowBossBarOnlyAfterBattle()) return;
+            proximityTracker.track(raid.getBossUuid(), PlayerProximityTracker.anchor(raid.getBossEntity()), BOSS_BAR_RADIUS, new PlayerProximityTracker.Listener<>() {
+                @Override
+                public void onEnter(ServerPlayerEntity player) { raid.addPlayerToShowBossBar(player); }
+
+                @Override
+                public void onLeave(ServerPlayerEntity player) { raid.removePlayerFromBossBar(player); }
+            });
+        }
+
+        public void onEntityLoad(Entity entity) {
+            if (pendingRecovery.isEmpty() || !(entity instanceof PokemonEntity bossEntity)) return;
+            RaidState state = pendingRecovery.remove(bossEntity.getUuid());
+            if (state == null) return;
+
+            Raid raid = new Raid(bossEntity, state.getMaxHealth(), state.getDamagePerWin(), state.getDespawnTimeSeconds(),
+                    server.getTicks() - state.getElapsedTicks(), generalConfig);
+            raid.restore(state);
+            activeRaids.put(bossEntity.getUuid(), raid);
+            raidUpdates.add(raid);
+            trackProximity(raid);
+            BossGoals.addBossGoals(bossEntity, raid);
+            LOGGER.info("Recovered raid boss {} with {}/{} health.", bossEntity.getPokemon().getSpecies().getName(),
+                    state.getCurrentHealth(), state.getMaxHealth());
+        }
+
+        private void expirePendingRecoveries() {
+            for (UUID bossUuid : pendingRecovery.keySet()) {
+                LOGGER.warn("Raid boss {} was not found after restart. Dropping its saved raid progress.", bossUuid);
+                if (journal != null) journal.raidEnded(bossUuid);
+            }
+            pendingRecovery.clear();
+        }
+
+        private List<RaidState> captureStates() {
+            List<RaidState> states = new ArrayList<>(pendingRecovery.values());
+            long currentTick = server != null ? server.getTicks() : 0;
+            activeRaids.values().forEach(raid -> states.add(raid.toState(currentTick)));
+            return states;
+        }
+
         public void endAllRaids() {
             new ArrayList<>(activeRaids.keySet()).forEach(this::endRaid);
             LOGGER.info("Ended all active raids.");
@@ -203,9 +541,34 @@ public class CobbleRaids implements ModInitializer {
             return activeRaids.values();
         }
 
+        public ParticleEmitterService getParticles() {
+            return particles;
+        }
+
+        public RaidMetrics getMetrics() {
+            return metrics;
+        }
+
+        public RaidProfiler getProfiler() {
+            return profiler;
+        }
+
+        public SpawnChunkPrewarmer getSpawnPrewarmer() {
+            return spawnPrewarmer;
+        }
+
+        /**
+         * The scheduler for every raid countdown. Tasks are keyed by boss or player UUID and run on the server thread.
+         */
+        public TickScheduler getScheduler() {
+            return scheduler;
+        }
+
         public void addPlayerToRaid(ServerPlayerEntity player, Raid raid) {
             if (generalConfig.shouldShowBossBarOnlyAfterBattle()) {
-                raid.addBattledPlayer(player.getUuid());
+                if (raid.addBattledPlayer(player.getUuid()) && journal != null) {
+                    journal.playerBattled(raid.getBossUuid(), player.getUuid());
+                }
                 raid.addPlayerToShowBossBar(player);
             } else {
                 raid.addPlayerToShowBossBar(player);
@@ -213,52 +576,58 @@ public class CobbleRaids implements ModInitializer {
         }
 
         public void removePlayerFromRaid(ServerPlayerEntity player) {
+            proximityTracker.removePlayer(player);
+            untrackCombatant(player.getUuid());
             activeRaids.values().forEach(raid -> raid.removePlayerFromBossBar(player));
         }
 
+        /**
+         * The once-per-second part of a raid: despawn checks and the remaining time on the boss bar.
+         */
+        private void updateRaid(MinecraftServer server, Raid raid) {
+            if (raid.getBossEntity().isRemoved()) {
+                endRaid(raid.getBossUuid(), RaidLedger.Outcome.REMOVED);
+                return;
+            }
+            if (!raid.getProgress().updateCountdown(server.getTicks())) {
+                particles.burst((ServerWorld) raid.getBossEntity().getWorld(), raid.getBossEntity().getPos().add(0, 0.5, 0), ParticleTypes.POOF, 50, 0.3, 0.3, 0.3, 0.1);
+                server.getPlayerManager().broadcast(Text.literal(raid.getBossEntity().getPokemon().getSpecies().getName() + " has despawned!"), false);
+                endRaid(raid.getBossUuid(), RaidLedger.Outcome.DESPAWNED);
+            }
+        }
+
         public void tick(MinecraftServer server) {
             if (this.server == null) setServer(server);
 
-            List<UUID> toRemove = new ArrayList<>();
-            for (Raid raid : activeRaids.values()) {
-                long elapsedTicks = server.getTicks() - raid.getCreationTick();
-
-                if (raid.getBossEntity().isRemoved()) {
-                    toRemove.add(raid.getBossUuid());
-                    continue;
-                }
-
-                if (raid.getDespawnTimeSeconds() > 0) {
-                    long elapsedSeconds = elapsedTicks / 20;
-                    long remainingSeconds = raid.getDespawnTimeSeconds() - elapsedSeconds;
-                    if (remainingSeconds <= 0) {
-                        toRemove.add(raid.getBossUuid());
-                        ((ServerWorld)raid.getBossEntity().getWorld()).spawnParticles(ParticleTypes.POOF, raid.getBossEntity().getX(), raid.getBossEntity().getY() + 0.5, raid.getBossEntity().getZ(), 50, 0.3, 0.3, 0.3, 0.1);
-                        server.getPlayerManager().broadcast(Text.literal(raid.getBossEntity().getPokemon().getSpecies().getName() + " has despawned!"), false);
-                        continue;
-                    }
-                    if (elapsedTicks % 20 == 0) {
-                        raid.updateNameWithTime(formatTime(remainingSeconds));
-                    }
-                }
-
-                if (!generalConfig.shouldShowBossBarOnlyAfterBattle() && elapsedTicks % 100 == 0) {
-                    ServerWorld world = (ServerWorld) raid.getBossEntity().getWorld();
-                    List<ServerPlayerEntity> nearbyPlayers = world.getPlayers(p -> p.squaredDistanceTo(raid.getBossEntity()) < 150 * 150);
-                    Set<ServerPlayerEntity> currentPlayers = new HashSet<>(raid.getBossBar().getPlayers());
-
-                    for(ServerPlayerEntity p : nearbyPlayers) {
-                        if (!currentPlayers.contains(p)) raid.addPlayerToShowBossBar(p);
-                    }
-                    currentPlayers.removeAll(nearbyPlayers);
-                    currentPlayers.forEach(raid::removePlayerFromBossBar);
+            long tickStart = System.nanoTime();
+            raidUpdates.tick(server.getTicks(), generalConfig.getRaidTickBudgetNanos(), raid -> {
+                long raidStart = profiler.begin();
+                try {
+                    updateRaid(server, raid);
+                } finally {
+                    profiler.end(RaidProfiler.Phase.RAID_LOOP, raid, raidStart);
                 }
+            });
+            // Flushing is a no-op unless something changed, and damage should show on the next tick, not within a second.
+            for (Raid raid : activeRaids.values()) {
+                raid.flushBossBar();
             }
-            toRemove.forEach(this::endRaid);
+            if (server.getTicks() % PROXIMITY_INTERVAL_TICKS == 0) {
+                long proximityStart = profiler.begin();
+                proximityTracker.tick(server.getPlayerManager().getPlayerList());
+                profiler.end(RaidProfiler.Phase.PROXIMITY, proximityStart);
+            }
+            long particlesStart = profiler.begin();
+            particles.tick();
+            profiler.end(RaidProfiler.Phase.PARTICLES, particlesStart);
+            long schedulerStart = profiler.begin();
+            scheduler.tick();
+            profiler.end(RaidProfiler.Phase.SCHEDULER, schedulerStart);
+            metrics.tickDuration.recordSince(tickStart);
         }
     }
 
-    private static String formatTime(long totalSeconds) {
+    public static String formatTime(long totalSeconds) {
         long minutes = totalSeconds / 60;
         long seconds = totalSeconds % 60;
         return String.format("%02d:%02d", minutes, seconds);
@@ -271,13 +640,16 @@ public class CobbleRaids implements ModInitializer {
         raidManager = new RaidManager();
 
         Path configDir = FabricLoader.getInstance().getConfigDir().resolve(MOD_ID);
-        RaidBossConfig defaultBossConfig = new RaidBossConfig();
-        bossConfigManager = new ConfigManager<>("1.0", defaultBossConfig, RaidBossConfig.class, configDir.resolve("bosses"), ConfigMetadata.defaultFor(defaultBossConfig.getConfigId()));
-        generalConfigManager = new ConfigManager<>("1.2", new GeneralRaidConfig(), GeneralRaidConfig.class, configDir, ConfigMetadata.defaultFor("general_raid"));
-
-        bossConfig = bossConfigManager.getConfig();
-        generalConfig = generalConfigManager.getConfig();
-        raidManager.setConfig(generalConfig);
+        generalConfigManager = new ConfigManager<>("1.6", new GeneralRaidConfig(), GeneralRaidConfig.class, configDir, ConfigMetadata.defaultFor("general_raid"));
+        bossCatalog = new BossCatalog(configDir.resolve("bosses"));
+        bossCatalog.open();
+        bossCatalog.addListener(this::onBossFileChanged);
+        // Called now with the loaded config, then on every reload; raids already running keep their boss bar title.
+        generalConfigManager.addReloadListener(config -> {
+            generalConfig = config;
+            raidManager.setConfig(config);
+        });
+        registerMetricGauges();
 
         registerCommands();
         registerListeners();
@@ -298,147 +670,388 @@ public class CobbleRaids implements ModInitializer {
         ServerTickEvents.END_SERVER_TICK.register(server -> {
             raidManager.tick(server);
 
-            if (server.getTicks() % (generalConfig.getSpawnAttemptIntervalSeconds() * 20L) == 0) {
-                attemptSpawnRaids(server);
+            // Spawns are decided a lead time early so their chunk can load before the attempt is due.
+            long intervalTicks = generalConfig.getSpawnAttemptIntervalSeconds() * 20L;
+            long leadTicks = Math.max(0, Math.min(generalConfig.getSpawnPrewarmSeconds() * 20L, intervalTicks - 1));
+            if ((server.getTicks() + leadTicks) % intervalTicks == 0) {
+                long spawnStart = raidManager.getProfiler().begin();
+                attemptSpawnRaids(server, leadTicks);
+                raidManager.getProfiler().end(RaidProfiler.Phase.SPAWN_ATTEMPT, spawnStart);
             }
         });
     }
 
-    private void attemptSpawnRaids(MinecraftServer server) {
-        if (!catchableBossAnticipationBars.isEmpty() || !catchableBossCatchBars.isEmpty()) {
+    private void attemptSpawnRaids(MinecraftServer server, long leadTicks) {
+        if (!canSpawnRaid() || raidManager.getSpawnPrewarmer().isPending()) {
             return;
         }
-        if (raidManager.getActiveRaids().size() >= generalConfig.getMaxActiveRaids()) {
-            return;
-        }
-
-        List<RaidBossConfig.RaidBoss> possibleBosses = bossConfig.getBosses();
-        if (possibleBosses.isEmpty()) return;
 
-        double totalWeight = possibleBosses.stream().mapToDouble(b -> b.spawnChance).sum();
-        if (totalWeight <= 0) return;
-
-        double randWeight = random.nextDouble() * totalWeight;
-        double cumulative = 0;
-        RaidBossConfig.RaidBoss selectedBoss = null;
-        for (RaidBossConfig.RaidBoss boss : possibleBosses) {
-            cumulative += boss.spawnChance;
-            if (randWeight <= cumulative) {
-                selectedBoss = boss;
-                break;
-            }
-        }
-        if (selectedBoss == null) return;
-
-        if (selectedBoss.spawnPoints.isEmpty()) {
-            LOGGER.warn("Selected boss '{}' has no preset spawn points defined. Skipping spawn.", selectedBoss.species);
-            return;
-        }
+        boolean day = server.getOverworld().isDay();
+        BossSpawnTable.Entry entry = spawnTable.sample(day, server.getCurrentPlayerCount(), random);
+        if (entry == null) return;
 
-        RaidBossConfig.SpawnPoint sp = selectedBoss.spawnPoints.get(random.nextInt(selectedBoss.spawnPoints.size()));
-        RegistryKey<World> worldKey = RegistryKey.of(RegistryKeys.WORLD, Identifier.of(sp.dimension));
-        ServerWorld spawnWorld = server.getWorld(worldKey);
+        SpawnCandidate selectedBoss = entry.boss();
+        // Normally ready long ago; with lazy loading this is the first use, and the chunk lead time covers the load.
+        CompletableFuture<BossBlueprint> blueprint = bossBlueprint(selectedBoss.id());
+        ServerWorld spawnWorld = server.getWorld(entry.spawnPoint().dimension());
         if (spawnWorld == null) {
-            LOGGER.warn("Invalid dimension for spawn point: {}", sp.dimension);
+            LOGGER.warn("Invalid dimension for spawn point: {}", entry.spawnPoint().dimension().getValue());
             return;
         }
-        Vec3d spawnPos = new Vec3d(sp.x, sp.y, sp.z);
+        Vec3d spawnPos = entry.spawnPoint().pos();
 
-        spawnRaidBoss(spawnWorld, selectedBoss, spawnPos);
-        String coords = String.format("%.0f, %.0f, %.0f", spawnPos.x, spawnPos.y, spawnPos.z);
-        List<String> messageLines = generalConfig.getSpawnMessage();
+        raidManager.getSpawnPrewarmer().prewarm(spawnWorld, spawnPos, leadTicks, world -> {
+            if (!blueprint.isDone()) {
+                LOGGER.warn("Raid boss '{}' was still loading and was not spawned.", selectedBoss.id());
+                return;
+            }
+            // Raids may have started or been defeated while the chunk was loading.
+            if (!blueprint.isCompletedExceptionally() && canSpawnRaid()) {
+                spawnAndAnnounce(server, world, blueprint.join(), spawnPos);
+            }
+        });
+    }
 
-        for (String line : messageLines) {
-            String formattedLine = line.replace("{species}", selectedBoss.species).replace("{coords}", coords);
-            server.getPlayerManager().broadcast(Text.literal(formattedLine), false);
+    private boolean canSpawnRaid() {
+        return catchableBossAnticipationBars.isEmpty() && catchableBossCatchBars.isEmpty()
+                && raidManager.getActiveRaids().size() < generalConfig.getMaxActiveRaids();
+    }
+
+    private void spawnAndAnnounce(MinecraftServer server, ServerWorld spawnWorld, BossBlueprint selectedBoss, Vec3d spawnPos) {
+        spawnRaidBoss(spawnWorld, selectedBoss, spawnPos);
+        MessageTemplate.Resolver resolver = (placeholder, out) -> {
+            switch (placeholder) {
+                case SPECIES -> out.append(selectedBoss.name());
+                case COORDS -> out.append(Math.round(spawnPos.x)).append(", ")
+                        .append(Math.round(spawnPos.y)).append(", ")
+                        .append(Math.round(spawnPos.z));
+                default -> out.append('{').append(placeholder.getKey()).append('}');
+            }
+        };
+        for (MessageTemplate line : generalConfig.getSpawnMessageTemplates()) {
+            server.getPlayerManager().broadcast(line.render(resolver), false);
         }
     }
 
-    private void spawnRaidBoss(ServerWorld world, RaidBossConfig.RaidBoss bossDef, Vec3d pos) {
+    private void spawnRaidBoss(ServerWorld world, BossBlueprint bossDef, Vec3d pos) {
         try {
-            PokemonProperties props = PokemonProperties.Companion.parse(bossDef.species);
-            Pokemon pokemon = props.create();
-            pokemon.setLevel(bossDef.level);
-            pokemon.setScaleModifier(bossDef.scale);
-            pokemon.getCustomProperties().add(UncatchableProperty.INSTANCE.uncatchable());
+            Pokemon pokemon = bossDef.create();
             PokemonEntity pokemonEntity = createImmobilizedPokemonEntity(world, pokemon, true, true, false, true);
             pokemonEntity.refreshPositionAndAngles(pos.getX(), pos.getY(), pos.getZ(), world.getRandom().nextFloat() * 360, 0);
             world.spawnEntity(pokemonEntity);
 
-            raidManager.createRaid(pokemonEntity, bossDef.maxHealth, bossDef.damagePerWin, bossDef.despawnTimeSeconds);
+            raidManager.createRaid(pokemonEntity, bossDef.maxHealth(), bossDef.damagePerWin(), bossDef.despawnTimeSeconds());
             BossGoals.addBossGoals(pokemonEntity, raidManager.getRaidByBossUuid(pokemonEntity.getUuid()));
 
-            LOGGER.info("Spawned dynamic raid boss: {} at {}", bossDef.species, pos);
+            LOGGER.info("Spawned dynamic raid boss: {} at {}", bossDef.name(), pos);
         } catch (Exception e) {
-            LOGGER.error("Failed to spawn dynamic raid boss: {}", bossDef.species, e);
+            LOGGER.error("Failed to spawn dynamic raid boss: {}", bossDef.name(), e);
         }
     }
 
     private void registerCommands() {
-        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerRaidCommands(dispatcher));
+        CommandManager commands = new CommandManager(MOD_ID);
+        commands.newCommand("raid")
+                .subCommand("despawn", despawn -> {
+                    despawn.requires("cobbleraids.command.despawn", 2);
+                    despawn.executes(context -> {
+                        int count = raidManager.getActiveRaids().size();
+                        raidManager.endAllRaids();
+                        if (count > 0) {
+                            context.getSource().sendFeedback(() -> Text.literal("Despawned " + count + " raid boss(es)."), true);
+                        } else {
+                            context.getSource().sendError(Text.literal("No active raid bosses found to despawn."));
+                        }
+                    });
+                })
+                .subCommand("spawn", spawn -> spawn
+                        .requires("cobbleraids.command.spawn", 2)
+                        .then(spawnArguments())
+                )
+                .subCommand("profile", profile -> profile
+                        .requires("cobbleraids.command.profile", 2)
+                        .subCommand("start", start -> start.executes(context -> {
+                            if (raidManager.getProfiler().start()) {
+                                context.getSource().sendFeedback(() -> Text.literal("Raid profiler started."), true);
+                            } else {
+                                context.getSource().sendError(Text.literal("The raid profiler is already running."));
+                            }
+                        }))
+                        .subCommand("stop", stop -> stop.executes(context -> {
+                            if (raidManager.getProfiler().stop()) {
+                                context.getSource().sendFeedback(() -> Text.literal("Raid profiler stopped. Use /raid profile dump to write the report."), true);
+                            } else {
+                                context.getSource().sendError(Text.literal("The raid profiler is not running."));
+                            }
+                        }))
+                        .subCommand("dump", dump -> dump.executes(context -> dumpProfile(context.getSource())))
+                )
+                .subCommand("history", history -> {
+                    history.requires("cobbleraids.command.history", 2)
+                            .subCommand("top", top -> top.executes(context -> showLeaderboard(context.getSource())))
+                            .subCommand("player", player -> player.then(CommandManager.argument("name", StringArgumentType.word())
+                                    .executes(context -> {
+                                        showPlayerHistory(context.getSource(), StringArgumentType.getString(context, "name"));
+                                        return 1;
+                                    })))
+                            .subCommand("species", species -> species.then(CommandManager.argument("species", StringArgumentType.word())
+                                    .executes(context -> {
+                                        String name = StringArgumentType.getString(context, "species");
+                                        showHistory(context.getSource(), "Recent " + name + " raids", ledger -> ledger.forSpecies(name, HISTORY_LIMIT));
+                                        return 1;
+                                    })));
+                    history.executes(context -> showHistory(context.getSource(), "Recent raids", ledger -> ledger.recent(HISTORY_LIMIT)));
+                });
+        commands.register();
+    }
+
+    private void showHistory(ServerCommandSource source, String header, Function<RaidLedger, List<RaidLedger.RaidResult>> query) {
+        RaidLedger ledger = raidManager.getLedger();
+        if (ledger == null) {
+            source.sendError(Text.literal("The raid ledger is not available."));
+            return;
+        }
+        List<RaidLedger.RaidResult> results = query.apply(ledger);
+        if (results.isEmpty()) {
+            source.sendError(Text.literal("No raids recorded."));
+            return;
+        }
+        source.sendFeedback(() -> Text.literal(header + ":"), false);
+        for (RaidLedger.RaidResult result : results) {
+            RaidLedger.PlayerResult top = result.topDamager();
+            String line = formatResult(result) + ", " + result.players().size() + " player(s)"
+                    + (top == null ? "" : ", top: " + top.name() + " (" + top.damage() + ")");
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+    }
+
+    private void showPlayerHistory(ServerCommandSource source, String name) {
+        RaidLedger ledger = raidManager.getLedger();
+        if (ledger == null) {
+            source.sendError(Text.literal("The raid ledger is not available."));
+            return;
+        }
+        UUID playerUuid = ledger.findPlayer(name);
+        RaidLedger.PlayerTotals totals = playerUuid == null ? null : ledger.totals(playerUuid);
+        if (totals == null) {
+            source.sendError(Text.literal("No raids recorded for " + name + "."));
+            return;
+        }
+        source.sendFeedback(() -> Text.literal(totals.name() + ": " + totals.raids() + " raid(s), " + totals.defeats() + " defeated, "
+                + totals.damage() + " damage, " + totals.wins() + " win(s), " + totals.catches() + " caught"), false);
+        for (RaidLedger.RaidResult result : ledger.forPlayer(playerUuid, HISTORY_LIMIT)) {
+            long damage = result.players().stream().filter(player -> player.playerUuid().equals(playerUuid))
+                    .mapToLong(RaidLedger.PlayerResult::damage).sum();
+            RaidLedger.CatchOutcome caught = ledger.catchOutcome(result.bossUuid(), playerUuid);
+            String line = formatResult(result) + ", " + damage + " damage" + (caught == null ? "" : ", " + caught.name().toLowerCase(Locale.ROOT));
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+    }
+
+    private void showLeaderboard(ServerCommandSource source) {
+        RaidLedger ledger = raidManager.getLedger();
+        if (ledger == null) {
+            source.sendError(Text.literal("The raid ledger is not available."));
+            return;
+        }
+        List<RaidLedger.PlayerTotals> leaders = ledger.leaderboard(HISTORY_LIMIT);
+        if (leaders.isEmpty()) {
+            source.sendError(Text.literal("No raids recorded."));
+            return;
+        }
+        source.sendFeedback(() -> Text.literal("Top raiders by damage:"), false);
+        for (int i = 0; i < leaders.size(); i++) {
+            RaidLedger.PlayerTotals totals = leaders.get(i);
+            String line = (i + 1) + ". " + totals.name() + " - " + totals.damage() + " damage in " + totals.raids() + " raid(s), "
+                    + totals.catches() + " caught";
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+    }
+
+    private static String formatResult(RaidLedger.RaidResult result) {
+        return HISTORY_TIME_FORMAT.format(Instant.ofEpochMilli(result.endedMillis())) + " " + result.species() + " "
+                + result.outcome().name().toLowerCase(Locale.ROOT) + " after " + formatTime(result.durationTicks() / 20);
+    }
+
+    private void dumpProfile(ServerCommandSource source) {
+        RaidProfiler profiler = raidManager.getProfiler();
+        try {
+            Path file = profiler.writeReport(FabricLoader.getInstance().getGameDir().resolve(MOD_ID).resolve("profiles"));
+            source.sendFeedback(() -> Text.literal("Raid profile written to " + file.getFileName()), false);
+            profiler.summary().forEach(line -> source.sendFeedback(() -> Text.literal(line), false));
+        } catch (IOException e) {
+            LOGGER.error("Failed to write raid profile", e);
+            source.sendError(Text.literal("Failed to write the raid profile: " + e.getMessage()));
+        }
     }
 
     private void registerListeners() {
+        registerLifecycleListeners();
         registerBattleListeners();
         registerCaptureListener();
         registerDisconnectListener();
     }
 
-    private void registerRaidCommands(CommandDispatcher<ServerCommandSource> dispatcher) {
-        dispatcher.register(CommandManager.literal("raid")
-                .requires(source -> source.hasPermissionLevel(2))
-                .then(CommandManager.literal("despawn")
-                        .executes(context -> {
-                            int count = raidManager.getActiveRaids().size();
-                            raidManager.endAllRaids();
-                            if (count > 0) {
-                                context.getSource().sendFeedback(() -> Text.literal("Despawned " + count + " raid boss(es)."), true);
-                            } else {
-                                context.getSource().sendError(Text.literal("No active raid bosses found to despawn."));
-                            }
-                            return count;
-                        })
-                )
-                .then(CommandManager.literal("spawn")
-                        .then(CommandManager.argument("pokemon", StringArgumentType.string())
-                                .suggests((context, builder) -> {
-                                    PokemonSpecies.INSTANCE.getImplemented().forEach(species -> builder.suggest(species.getName().toLowerCase()));
-                                    return builder.buildFuture();
-                                })
-                                .then(CommandManager.argument("level", IntegerArgumentType.integer(1, 100))
-                                        .then(CommandManager.argument("health", LongArgumentType.longArg(1))
-                                                .then(CommandManager.argument("scale", FloatArgumentType.floatArg(0.1f))
-                                                        .then(CommandManager.argument("damagePerWin", LongArgumentType.longArg(1))
-                                                                .then(CommandManager.argument("despawnTimeSeconds", LongArgumentType.longArg(0))
-                                                                        .then(CommandManager.argument("pos", Vec3ArgumentType.vec3())
-                                                                                .suggests((context, builder) -> {
-                                                                                    Vec3d pos = context.getSource().getPosition();
-                                                                                    String suggestionStr = String.format(Locale.US, "%.2f %.2f %.2f", pos.x, pos.y, pos.z);
-                                                                                    return builder.suggest(suggestionStr).buildFuture();
-                                                                                })
-                                                                                .executes(context -> {
-                                                                                    String pokemonName = StringArgumentType.getString(context, "pokemon");
-                                                                                    int level = IntegerArgumentType.getInteger(context, "level");
-                                                                                    long health = LongArgumentType.getLong(context, "health");
-                                                                                    float scale = FloatArgumentType.getFloat(context, "scale");
-                                                                                    long damagePerWin = LongArgumentType.getLong(context, "damagePerWin");
-                                                                                    long despawnTime = LongArgumentType.getLong(context, "despawnTimeSeconds");
-                                                                                    Vec3d pos = Vec3ArgumentType.getVec3(context, "pos");
-                                                                                    return spawnRaidPokemon(context.getSource(), pokemonName, level, health, scale, damagePerWin, despawnTime, pos);
-                                                                                })
-                                                                        )
-                                                                )
+    private RequiredArgumentBuilder<ServerCommandSource, String> spawnArguments() {
+        return CommandManager.argument("pokemon", StringArgumentType.string())
+                .suggests((context, builder) -> {
+                    PokemonSpecies.INSTANCE.getImplemented().forEach(species -> builder.suggest(species.getName().toLowerCase()));
+                    return builder.buildFuture();
+                })
+                .then(CommandManager.argument("level", IntegerArgumentType.integer(1, 100))
+                        .then(CommandManager.argument("health", LongArgumentType.longArg(1))
+                                .then(CommandManager.argument("scale", FloatArgumentType.floatArg(0.1f))
+                                        .then(CommandManager.argument("damagePerWin", LongArgumentType.longArg(1))
+                                                .then(CommandManager.argument("despawnTimeSeconds", LongArgumentType.longArg(0))
+                                                        .then(CommandManager.argument("pos", Vec3ArgumentType.vec3())
+                                                                .suggests((context, builder) -> {
+                                                                    Vec3d pos = context.getSource().getPosition();
+                                                                    String suggestionStr = String.format(Locale.US, "%.2f %.2f %.2f", pos.x, pos.y, pos.z);
+                                                                    return builder.suggest(suggestionStr).buildFuture();
+                                                                })
+                                                                .executes(context -> {
+                                                                    String pokemonName = StringArgumentType.getString(context, "pokemon");
+                                                                    int level = IntegerArgumentType.getInteger(context, "level");
+                                                                    long health = LongArgumentType.getLong(context, "health");
+                                                                    float scale = FloatArgumentType.getFloat(context, "scale");
+                                                                    long damagePerWin = LongArgumentType.getLong(context, "damagePerWin");
+                                                                    long despawnTime = LongArgumentType.getLong(context, "despawnTimeSeconds");
+                                                                    Vec3d pos = Vec3ArgumentType.getVec3(context, "pos");
+                                                                    return spawnRaidPokemon(context.getSource(), pokemonName, level, health, scale, damagePerWin, despawnTime, pos);
+                                                                })
                                                         )
                                                 )
                                         )
                                 )
                         )
-                )
-        );
+                );
+    }
+
+    private void registerMetricGauges() {
+        MetricsRegistry registry = raidManager.getMetrics().getRegistry();
+        registry.gauge("cobbleraids_active_raids", "Raids currently active.", () -> raidManager.getActiveRaids().size());
+        registry.gauge("cobbleraids_catchable_bosses", "Catchable boss entities currently waiting for their player.", playerToCatchableBossEntityMap::size);
+        registry.gauge("cobbleraids_catch_countdowns", "Players currently counting down to their catch phase.", catchableBossAnticipationBars::size);
+        registry.gauge("cobbleraids_scheduled_tasks", "Tasks queued in the raid timing wheel.", () -> raidManager.getScheduler().size());
+        registry.gauge("cobbleraids_events_dropped", "Raid events dropped because async API listeners fell behind.", RaidEventBus.getInstance()::getDroppedEvents);
+    }
+
+    private void startMetricsExport() {
+        String mode = generalConfig.getMetricsExport();
+        try {
+            if ("file".equalsIgnoreCase(mode)) {
+                Path file = FabricLoader.getInstance().getGameDir().resolve(generalConfig.getMetricsFile());
+                metricsExporter = PrometheusExporter.toFile(raidManager.getMetrics().getRegistry(), file, generalConfig.getMetricsFileIntervalSeconds());
+            } else if ("http".equalsIgnoreCase(mode)) {
+                metricsExporter = PrometheusExporter.toHttp(raidManager.getMetrics().getRegistry(), generalConfig.getMetricsPort());
+            } else if (!"off".equalsIgnoreCase(mode)) {
+                LOGGER.warn("Unknown metricsExport mode '{}'. Expected off, file or http.", mode);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to start raid metrics export on port {}", generalConfig.getMetricsPort(), e);
+        }
+    }
+
+    private void stopMetricsExport() {
+        if (metricsExporter != null) {
+            metricsExporter.close();
+            metricsExporter = null;
+        }
+    }
+
+    private void registerLifecycleListeners() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> ConfigIoService.getInstance().start());
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            runningServer = server;
+            rebuildSpawnTable(server);
+            warmBossBlueprints();
+            raidManager.openJournal(server);
+            startMetricsExport();
+        });
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (!success) return;
+            // Species may have changed with the data packs.
+            blueprints.clear();
+            reportedBossErrors.clear();
+            rebuildSpawnTable(server);
+            warmBossBlueprints();
+        });
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            runningServer = null;
+            raidManager.closeJournal();
+            stopMetricsExport();
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> ConfigIoService.getInstance().shutdown());
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> raidManager.onEntityLoad(entity));
+    }
+
+    /**
+     * Rebuilds the spawn table from the boss catalog index. Only spawn selection fields are needed, so no boss file is read.
+     * Bosses whose blueprint failed to compile are left out until their file changes.
+     */
+    private void rebuildSpawnTable(MinecraftServer server) {
+        Set<RegistryKey<World>> worlds = server.getWorldRegistryKeys();
+        List<SpawnCandidate> candidates = new ArrayList<>();
+        for (BossCatalog.IndexEntry entry : bossCatalog.getIndex()) {
+            CompletableFuture<BossBlueprint> blueprint = blueprints.get(entry.id());
+            if (blueprint != null && blueprint.isCompletedExceptionally()) continue;
+            try {
+                candidates.add(SpawnCandidate.resolve(entry, worlds));
+            } catch (IllegalArgumentException e) {
+                reportBossError(entry.id(), e.getMessage());
+            }
+        }
+        spawnTable = BossSpawnTable.build(candidates);
+    }
+
+    /**
+     * Compiles every boss's blueprint in parallel, unless bosses are loaded lazily on their first spawn.
+     */
+    private void warmBossBlueprints() {
+        if (generalConfig.isLazyBossLoading()) return;
+        Set<String> ids = bossCatalog.getIds();
+        CompletableFuture.allOf(ids.stream().map(id -> bossBlueprint(id).exceptionally(error -> null)).toArray(CompletableFuture[]::new))
+                .thenRun(() -> LOGGER.info("Compiled raid boss blueprints for {} configured boss(es).", ids.size()));
+    }
+
+    /**
+     * @return the blueprint of a catalog boss, reading and compiling it off-thread on first use. Invalid bosses are
+     * reported once, dropped from the spawn table and complete exceptionally until their file changes.
+     */
+    private CompletableFuture<BossBlueprint> bossBlueprint(String id) {
+        return blueprints.computeIfAbsent(id, key -> bossCatalog.definition(key)
+                .thenApplyAsync(boss -> BossBlueprint.compile(key, boss), Util.getMainWorkerExecutor())
+                .whenComplete((blueprint, error) -> {
+                    if (error == null) return;
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    reportBossError(key, cause instanceof IllegalArgumentException ? cause.getMessage() : cause.toString());
+                    MinecraftServer server = runningServer;
+                    if (server != null) server.execute(() -> rebuildSpawnTable(server));
+                }));
+    }
+
+    private void reportBossError(String id, String message) {
+        if (reportedBossErrors.add(id + ": " + message)) {
+            LOGGER.error("Skipping invalid raid boss '{}': {}", id, message);
+        }
+    }
+
+    /**
+     * Called on a config I/O thread when a single boss file was added, edited or removed.
+     */
+    private void onBossFileChanged(String id) {
+        blueprints.remove(id);
+        reportedBossErrors.removeIf(error -> error.startsWith(id + ": "));
+        MinecraftServer server = runningServer;
+        if (server == null) return;
+        server.execute(() -> {
+            rebuildSpawnTable(server);
+            if (!generalConfig.isLazyBossLoading() && bossCatalog.getIds().contains(id)) bossBlueprint(id);
+        });
     }
 
     private void registerBattleListeners() {
-        CobblemonEvents.BATTLE_STARTED_PRE.subscribe(Priority.HIGHEST, event -> {
+        CobblemonEvents.BATTLE_STARTED_PRE.subscribe(Priority.HIGHEST, profiled(event -> {
             PokemonBattle battle = event.getBattle();
             ServerPlayerEntity player = null;
             PokemonEntity potentialBoss = null;
@@ -463,17 +1076,19 @@ public class CobbleRaids implements ModInitializer {
 
             if (player != null && potentialBoss != null && raidManager.getRaidByBossUuid(potentialBoss.getUuid()) != null) {
                 LOGGER.info("Intercepting battle with CobbleRaid boss: {}", potentialBoss.getPokemon().getSpecies().getName());
+                raidManager.getMetrics().battleIntercepts.increment();
                 event.setReason(Text.empty());
                 event.cancel();
                 startRaidBattle(player, potentialBoss);
             }
 
             return Unit.INSTANCE;
-        });
+        }));
 
-        CobblemonEvents.BATTLE_FAINTED.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.BATTLE_FAINTED.subscribe(Priority.NORMAL, profiled(event -> {
             PokemonEntity faintedEntity = event.getKilled().getEntity();
-            UUID originalBossUuid = faintedEntity != null ? faintedEntity.getPokemon().getPersistentData().getUuid("original_boss_uuid") : null;
+            UUID originalBossUuid = faintedEntity != null && CloneTemplate.isClone(faintedEntity.getPokemon())
+                    ? faintedEntity.getPokemon().getPersistentData().getUuid(CloneTemplate.ORIGINAL_BOSS_KEY) : null;
 
             if (originalBossUuid != null) {
                 ServerPlayerEntity player = null;
@@ -485,19 +1100,74 @@ public class CobbleRaids implements ModInitializer {
                 }
                 if (player != null) {
                     LOGGER.info("Player {} defeated a raid clone.", player.getName().getString());
+                    // Still tracked, so the boss can look at the winner's Pokemon; the battle end event untracks them.
                     handleRaidDamage(player, originalBossUuid);
-
-                    if (faintedEntity != null) {
-                        faintedEntity.discard();
-                    }
+                    faintedEntity.discard();
 
                     event.getBattle().end();
+                    // Only now is the battle done with the clone, so it can be healed and handed to the next one.
+                    Raid raid = raidManager.getRaidByBossUuid(originalBossUuid);
+                    if (raid != null) raid.getCloneTemplate().recycle(faintedEntity.getPokemon());
                 } else {
                     LOGGER.warn("A raid clone fainted, but no player was found in the battle.");
                 }
             }
             return Unit.INSTANCE;
-        });
+        }));
+
+        CobblemonEvents.POKEMON_SENT_POST.subscribe(Priority.NORMAL, profiled(event -> {
+            raidManager.onPokemonSentOut(event.getPokemonEntity());
+            return Unit.INSTANCE;
+        }));
+
+        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, profiled(event -> {
+            endBattleParticipation(event.getBattle());
+            return Unit.INSTANCE;
+        }));
+
+        CobblemonEvents.BATTLE_FLED.subscribe(Priority.NORMAL, profiled(event -> {
+            endBattleParticipation(event.getBattle());
+            return Unit.INSTANCE;
+        }));
+    }
+
+    /**
+     * Times a battle listener under {@link RaidProfiler.Phase#BATTLE_EVENTS}.
+     */
+    private static <T> Function1<T, Unit> profiled(Function1<T, Unit> listener) {
+        return event -> {
+            RaidProfiler profiler = raidManager.getProfiler();
+            long start = profiler.begin();
+            try {
+                return listener.invoke(event);
+            } finally {
+                profiler.end(RaidProfiler.Phase.BATTLE_EVENTS, start);
+            }
+        };
+    }
+
+    /**
+     * Untracks the challengers of a finished battle and returns a surviving raid clone to its template.
+     */
+    private void endBattleParticipation(PokemonBattle battle) {
+        for (BattleActor actor : battle.getActors()) {
+            if (actor instanceof PlayerBattleActor pa) {
+                raidManager.untrackCombatant(pa.getUuid());
+            } else if (actor instanceof PokemonBattleActor pba && pba.getEntity() != null
+                    && CloneTemplate.isClone(pba.getEntity().getPokemon())) {
+                releaseClone(pba.getEntity());
+            }
+        }
+    }
+
+    private void releaseClone(PokemonEntity cloneEntity) {
+        UUID originalBossUuid = cloneEntity.getPokemon().getPersistentData().getUuid(CloneTemplate.ORIGINAL_BOSS_KEY);
+        Raid raid = raidManager.getRaidByBossUuid(originalBossUuid);
+        if (raid != null) {
+            raid.getCloneTemplate().release(cloneEntity);
+        } else if (!cloneEntity.isRemoved()) {
+            cloneEntity.discard();
+        }
     }
 
     private void registerCaptureListener() {
@@ -509,6 +1179,11 @@ public class CobbleRaids implements ModInitializer {
                 if (catchBar != null) catchBar.removePlayer(event.getPlayer());
                 playerToCatchableBossEntityMap.remove(playerUuid);
             }
+            NbtCompound data = event.getPokemon().getPersistentData();
+            if (data.containsUuid("raid_boss_uuid")) {
+                raidManager.recordCatch(data.getUuid("raid_boss_uuid"), playerUuid, RaidLedger.CatchOutcome.CAUGHT);
+                RaidEventBus.getInstance().post(new RaidEvent.Caught(data.getUuid("raid_boss_uuid"), playerUuid, event.getPokemon().getSpecies().getName()));
+            }
             return Unit.INSTANCE;
         });
     }
@@ -520,8 +1195,8 @@ public class CobbleRaids implements ModInitializer {
             raidManager.removePlayerFromRaid(player);
             ServerBossBar anticipationBar = catchableBossAnticipationBars.remove(playerUuid);
             if (anticipationBar != null) anticipationBar.removePlayer(player);
-            TimerTask particleTask = particleTasks.remove(playerUuid);
-            if (particleTask != null) particleTask.cancel();
+            raidManager.getScheduler().cancelAll(playerUuid);
+            raidManager.getParticles().unsubscribeAll(playerUuid);
             ServerBossBar catchBar = catchableBossCatchBars.remove(playerUuid);
             if (catchBar != null) catchBar.removePlayer(player);
             UUID catchableUuid = playerToCatchableBossEntityMap.remove(playerUuid);
@@ -542,7 +1217,11 @@ public class CobbleRaids implements ModInitializer {
         }
 
         long damageDealt = raid.getDamagePerWin();
-        raid.applyDamage(player, damageDealt);
+        RaidHealth.Outcome outcome = raidManager.applyDamage(raid, player, damageDealt);
+        if (outcome == RaidHealth.Outcome.REJECTED) {
+            player.sendMessage(Text.literal("The Raid Boss has already been defeated!"), false);
+            return;
+        }
         LOGGER.info("Raid boss {} took {} damage.", raid.getBossEntity().getPokemon().getSpecies().getName(), damageDealt);
 
         PokemonEntity bossEntity = raid.getBossEntity();
@@ -563,13 +1242,12 @@ public class CobbleRaids implements ModInitializer {
             });
         }
 
-        if (raid.isDefeated()) {
+        if (outcome == RaidHealth.Outcome.DEFEATED) {
             LOGGER.info("Raid boss {} has been defeated!", raid.getBossEntity().getPokemon().getSpecies().getName());
             player.sendMessage(Text.literal("You have defeated the Raid Boss!"), false);
 
             Pokemon bossPokemon = bossEntity.getPokemon();
             ServerWorld world = (ServerWorld) bossEntity.getWorld();
-            Map<UUID, Long> damagers = raid.getDamagers();
 
             world.getServer().execute(() -> {
                 playScaledParticles(world, bossEntity);
@@ -581,21 +1259,20 @@ public class CobbleRaids implements ModInitializer {
                     bossEntity.getDataTracker().set(PokemonEntity.Companion.getPOSE_TYPE(), PoseType.SLEEP);
                 }
 
-                raidManager.endRaid(originalBossUuid);
-
-                distributeCatchableBosses(world, bossEntity, damagers);
+                // Snapshot on the server thread so hits that landed just before the killing blow are included.
+                Map<UUID, Long> damagers = raid.getDamagers();
+                if (raid.getHealth().transition(RaidHealth.Phase.DEFEATED, RaidHealth.Phase.CATCH_PHASE)) {
+                    distributeCatchableBosses(world, bossEntity, damagers);
+                }
+                RaidEventBus.getInstance().post(new RaidEvent.Defeated(originalBossUuid, bossPokemon.getSpecies().getName(), player.getUuid(), damagers));
+                raidManager.endRaid(originalBossUuid, RaidLedger.Outcome.DEFEATED);
 
-                timer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        world.getServer().execute(() -> {
-                            if (!bossEntity.isRemoved()) {
-                                world.spawnParticles(ParticleTypes.POOF, bossEntity.getX(), bossEntity.getY() + 0.5, bossEntity.getZ(), 50, 0.3, 0.3, 0.3, 0.1);
-                                bossEntity.discard();
-                            }
-                        });
+                raidManager.getScheduler().schedule(originalBossUuid, DEFEATED_BOSS_DISCARD_TICKS, task -> {
+                    if (!bossEntity.isRemoved()) {
+                        raidManager.getParticles().burst(world, bossEntity.getPos().add(0, 0.5, 0), ParticleTypes.POOF, 50, 0.3, 0.3, 0.3, 0.1);
+                        bossEntity.discard();
                     }
-                }, 16000L); // 15s anticipation + 1s buffer
+                });
             });
         } else {
             player.sendMessage(Text.literal("The Raid Boss weakens!"), false);
@@ -610,33 +1287,35 @@ public class CobbleRaids implements ModInitializer {
         }
 
         Pokemon originalPokemon = originalBossEntity.getPokemon();
-        Pokemon clonePokemon = originalPokemon.clone(true, Objects.requireNonNull(player.getServer()).getRegistryManager());
-        clonePokemon.getPersistentData().putUuid("original_boss_uuid", originalBossEntity.getUuid());
-        clonePokemon.getCustomProperties().add(UncatchableProperty.INSTANCE.uncatchable());
-        clonePokemon.setScaleModifier(0.1F);
+        long cloneStart = System.nanoTime();
+        CloneTemplate cloneTemplate = raid.getCloneTemplate();
+        Pokemon clonePokemon = cloneTemplate.acquire();
         PokemonEntity cloneEntity = clonePokemon.sendOut((ServerWorld) player.getWorld(), originalBossEntity.getPos(), null, entity -> {
             entity.addStatusEffect(new StatusEffectInstance(StatusEffects.INVISIBILITY, -1, 1, false, false));
             entity.setAiDisabled(true);
             return Unit.INSTANCE;
         });
-        assert cloneEntity != null;
-        cloneEntity.setDrops(new DropTable());
 
         if (cloneEntity == null) {
             LOGGER.error("Failed to spawn the raid boss clone for battle.");
             player.sendMessage(Text.literal("An error occurred starting the raid battle."), false);
+            cloneTemplate.recycle(clonePokemon);
             return;
         }
+        cloneEntity.setDrops(new DropTable());
+        raidManager.getMetrics().cloneSpawnLatency.recordSince(cloneStart);
 
         PartyStore party = Cobblemon.INSTANCE.getStorage().getParty(player);
         UUID leadingPokemonUuid = getLeadingPokemonUuid(party);
         if (leadingPokemonUuid == null) {
             LOGGER.warn("Player {} tried to battle a raid boss without any conscious Pokémon.", player.getName().getString());
             player.sendMessage(Text.literal("You have no Pokémon that can fight!"), false);
-            cloneEntity.discard();
+            cloneTemplate.release(cloneEntity);
             return;
         }
         raidManager.addPlayerToRaid(player, raid);
+        Pokemon leadingPokemon = party.get(leadingPokemonUuid);
+        raidManager.trackCombatant(raid, player, leadingPokemon != null ? leadingPokemon.getEntity() : null);
         LOGGER.info("Starting new battle between {} and invisible clone of {}", player.getName().getString(), originalPokemon.getSpecies().getName());
         BattleBuilder.INSTANCE.pve(player, cloneEntity, leadingPokemonUuid, BattleFormat.Companion.getGEN_9_SINGLES(), false, false, Cobblemon.config.getDefaultFleeDistance(), party);
     }
@@ -694,54 +1373,38 @@ public class CobbleRaids implements ModInitializer {
         final double deltaZ = width / 2.0;
         final int particleCount = Math.min(600, (int) (75 * Math.max(1.0f, width * height)));
 
-        TimerTask particleTask = new TimerTask() {
-            @Override
-            public void run() {
-                if (player.isDisconnected() || !catchableBossAnticipationBars.containsKey(playerUuid)) {
-                    this.cancel();
-                    return;
-                }
-                player.getServer().execute(() -> {
-                    ServerWorld world = (ServerWorld) player.getWorld();
-                    Vec3d center = bossEntity.getBoundingBox().getCenter();
-                    world.spawnParticles(ParticleTypes.TOTEM_OF_UNDYING, center.getX(), center.getY(), center.getZ(), particleCount, deltaX, deltaY, deltaZ, 0.20);
-                });
-            }
-        };
+        // Every damager subscribes to the same emitter on the boss, so it runs once however many are waiting.
+        ParticleEmitterService particles = raidManager.getParticles();
+        particles.subscribe(playerUuid, bossEntity, ParticleTypes.TOTEM_OF_UNDYING, particleCount, deltaX, deltaY, deltaZ, 0.20, PARTICLE_INTERVAL_TICKS);
 
-        timer.scheduleAtFixedRate(particleTask, 0, 500L);
-        particleTasks.put(playerUuid, particleTask);
+        TickScheduler scheduler = raidManager.getScheduler();
         int preCatchDuration = 15;
-        timer.schedule(new TimerTask() {
-            private int countdown = preCatchDuration;
-            @Override
-            public void run() {
-                if (player.isDisconnected() || countdown <= 0) {
-                    player.getServer().execute(() -> {
-                        anticipationBar.removePlayer(player);
-                        catchableBossAnticipationBars.remove(playerUuid);
-                        particleTasks.remove(playerUuid).cancel();
-                        if (!player.isDisconnected()) {
-                            spawnCatchableBossForPlayer(player, bossPokemon);
-                        }
-                    });
-                    this.cancel();
-                    return;
+        int[] countdown = {preCatchDuration};
+        scheduler.scheduleRepeating(playerUuid, 0, COUNTDOWN_INTERVAL_TICKS, task -> {
+            if (player.isDisconnected() || countdown[0] <= 0) {
+                task.cancel();
+                anticipationBar.removePlayer(player);
+                catchableBossAnticipationBars.remove(playerUuid);
+                particles.unsubscribe(playerUuid, bossEntity, ParticleTypes.TOTEM_OF_UNDYING);
+                if (!player.isDisconnected()) {
+                    spawnCatchableBossForPlayer(player, bossEntity.getUuid(), bossPokemon);
                 }
-                anticipationBar.setPercent((float) countdown / preCatchDuration);
-                Text countdownText = Text.literal("Prepare to catch ").append(bossPokemon.getDisplayName()).append(" in " + countdown + "s...");
-                anticipationBar.setName(countdownText);
-                countdown--;
+                return;
             }
-        }, 0, 1000L);
+            anticipationBar.setPercent((float) countdown[0] / preCatchDuration);
+            Text countdownText = Text.literal("Prepare to catch ").append(bossPokemon.getDisplayName()).append(" in " + countdown[0] + "s...");
+            anticipationBar.setName(countdownText);
+            countdown[0]--;
+        });
     }
 
-    private void spawnCatchableBossForPlayer(ServerPlayerEntity player, Pokemon bossPokemon) {
+    private void spawnCatchableBossForPlayer(ServerPlayerEntity player, UUID bossUuid, Pokemon bossPokemon) {
         Pokemon catchableBossPokemon = PokemonProperties.Companion.parse(bossPokemon.getSpecies().getName()).create();
         catchableBossPokemon.setLevel(bossPokemon.getLevel());
         catchableBossPokemon.setShiny(bossPokemon.getShiny());
         catchableBossPokemon.getCustomProperties().remove(UncatchableProperty.INSTANCE);
         catchableBossPokemon.getPersistentData().putBoolean("raid_catchable", true);
+        catchableBossPokemon.getPersistentData().putUuid("raid_boss_uuid", bossUuid);
         PokemonEntity catchableBossEntity = createImmobilizedPokemonEntity((ServerWorld) player.getWorld(), catchableBossPokemon, false, false, true, false);
         catchableBossEntity.setDrops(new DropTable());
         Vec3d playerPos = player.getPos();
@@ -752,47 +1415,43 @@ public class CobbleRaids implements ModInitializer {
         player.getWorld().spawnEntity(catchableBossEntity);
         ServerWorld world = (ServerWorld) catchableBossEntity.getWorld();
         Vec3d particlePos = catchableBossEntity.getPos();
-        world.spawnParticles(ParticleTypes.TOTEM_OF_UNDYING, particlePos.getX(), particlePos.getY() + 1, particlePos.getZ(), 50, 0.5, 0.5, 0.5, 0.2);
+        raidManager.getParticles().burst(world, particlePos.add(0, 1, 0), ParticleTypes.TOTEM_OF_UNDYING, 50, 0.5, 0.5, 0.5, 0.2);
         UUID playerUuid = player.getUuid();
         playerToCatchableBossEntityMap.put(playerUuid, catchableBossEntity.getUuid());
         player.sendMessage(Text.literal("A " + catchableBossPokemon.getSpecies().getName() + " appeared! Catch it before it runs away!"), false);
         LOGGER.info("Spawned catchable boss {} for player {}", catchableBossPokemon.getSpecies().getName(), player.getName().getString());
+        RaidEventBus.getInstance().post(new RaidEvent.CatchStarted(bossUuid, playerUuid, catchableBossEntity.getUuid(), catchableBossPokemon.getSpecies().getName()));
         ServerBossBar catchBar = new ServerBossBar(Text.literal(catchableBossPokemon.getSpecies().getName() + " will flee soon!"), BossBar.Color.RED, BossBar.Style.PROGRESS);
         catchBar.addPlayer(player);
         catchableBossCatchBars.put(playerUuid, catchBar);
         int catchDuration = 30;
-        timer.schedule(new TimerTask() {
-            private int countdown = catchDuration;
-            @Override
-            public void run() {
-                if (player.isDisconnected() || !playerToCatchableBossEntityMap.containsKey(playerUuid)) {
-                    player.getServer().execute(() -> {
-                        catchBar.removePlayer(player);
-                        catchableBossCatchBars.remove(playerUuid);
-                    });
-                    this.cancel();
-                    return;
-                }
-                if (countdown <= 0) {
-                    player.getServer().execute(() -> {
-                        Entity entity = ((ServerWorld) player.getWorld()).getEntity(playerToCatchableBossEntityMap.get(playerUuid));
-                        if (entity != null && !entity.isRemoved()) {
-                            ((ServerWorld) entity.getWorld()).spawnParticles(ParticleTypes.POOF, entity.getX(), entity.getY() + 0.5, entity.getZ(), 50, 0.3, 0.3, 0.3, 0.1);
-                            entity.discard();
-                            player.sendMessage(Text.literal("The Pokémon ran away!"));
-                        }
-                        catchBar.removePlayer(player);
-                        catchableBossCatchBars.remove(playerUuid);
-                        playerToCatchableBossEntityMap.remove(playerUuid);
-                    });
-                    this.cancel();
-                    return;
+        int[] countdown = {catchDuration};
+        raidManager.getScheduler().scheduleRepeating(playerUuid, 0, COUNTDOWN_INTERVAL_TICKS, task -> {
+            if (player.isDisconnected() || !playerToCatchableBossEntityMap.containsKey(playerUuid)) {
+                task.cancel();
+                catchBar.removePlayer(player);
+                catchableBossCatchBars.remove(playerUuid);
+                return;
+            }
+            if (countdown[0] <= 0) {
+                task.cancel();
+                Entity entity = ((ServerWorld) player.getWorld()).getEntity(playerToCatchableBossEntityMap.get(playerUuid));
+                if (entity != null && !entity.isRemoved()) {
+                    raidManager.getParticles().burst((ServerWorld) entity.getWorld(), entity.getPos().add(0, 0.5, 0), ParticleTypes.POOF, 50, 0.3, 0.3, 0.3, 0.1);
+                    entity.discard();
+                    player.sendMessage(Text.literal("The Pokémon ran away!"));
+                    raidManager.recordCatch(bossUuid, playerUuid, RaidLedger.CatchOutcome.FLED);
+                    RaidEventBus.getInstance().post(new RaidEvent.Fled(bossUuid, playerUuid, catchableBossPokemon.getSpecies().getName()));
                 }
-                catchBar.setPercent((float) countdown / catchDuration);
-                catchBar.setName(Text.literal(catchableBossPokemon.getSpecies().getName() + " flees in " + countdown + "s"));
-                countdown--;
+                catchBar.removePlayer(player);
+                catchableBossCatchBars.remove(playerUuid);
+                playerToCatchableBossEntityMap.remove(playerUuid);
+                return;
             }
-        }, 0, 1000L);
+            catchBar.setPercent((float) countdown[0] / catchDuration);
+            catchBar.setName(Text.literal(catchableBossPokemon.getSpecies().getName() + " flees in " + countdown[0] + "s"));
+            countdown[0]--;
+        });
     }
 
     private PokemonEntity createImmobilizedPokemonEntity(ServerWorld world, Pokemon pokemon, boolean invulnerable, boolean silent, boolean aiDisabled, boolean enablePoseRecalc) {
@@ -817,8 +1476,9 @@ public class CobbleRaids implements ModInitializer {
         double deltaY = height / 2.0;
         double deltaZ = width / 2.0;
         int scaledPoofCount = Math.min(1200, (int) (150 * Math.max(1.0f, width * height)));
-        world.spawnParticles(ParticleTypes.POOF, center.getX(), center.getY(), center.getZ(), scaledPoofCount, deltaX, deltaY, deltaZ, 0.05);
-        world.spawnParticles(ParticleTypes.EXPLOSION_EMITTER, center.getX(), center.getY(), center.getZ(), 3, deltaX, deltaY, deltaZ, 0.0);
+        ParticleEmitterService particles = raidManager.getParticles();
+        particles.burst(world, center, ParticleTypes.EXPLOSION_EMITTER, 3, deltaX, deltaY, deltaZ, 0.0);
+        particles.burst(world, center, ParticleTypes.POOF, scaledPoofCount, deltaX, deltaY, deltaZ, 0.05);
     }
 
     @Nullable
@@ -0,0 +1,83 @@
+package com.cobbleraids.api;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer, after Dmitry Vyukov's bounded MPMC queue.
+ * <p>
+ * Each slot carries a sequence number saying whose turn it is: a producer may fill slot {@code i} at position
+ * {@code p} when its sequence is {@code p}, and the consumer may take it when the sequence is {@code p + 1}.
+ * Producers claim positions with a CAS and never wait; when the ring is full, {@link #offer} just fails.
+ */
+final class EventRing<T> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    /** Only touched by the consumer. */
+    private long tail;
+
+    /**
+     * @param capacity rounded up to a power of two.
+     */
+    EventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the ring is full.
+     */
+    boolean offer(T element) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1); // publishes the element
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} elements into {@code out}. Consumer thread only.
+     * @return the number of elements moved.
+     */
+    @SuppressWarnings("unchecked")
+    int drain(List<? super T> out, int max) {
+        int count = 0;
+        while (count < max) {
+            int index = (int) (tail & mask);
+            if (sequences.get(index) != tail + 1) break;
+            out.add((T) elements[index]);
+            elements[index] = null;
+            sequences.set(index, tail + mask + 1); // hands the slot back to producers, one lap ahead
+            tail++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Consumer thread only.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (tail & mask)) != tail + 1;
+    }
+}
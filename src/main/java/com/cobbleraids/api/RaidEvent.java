@@ -0,0 +1,76 @@
+package com.cobbleraids.api;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Something that happened to a raid. Events are immutable snapshots holding only ids and values, never entities,
+ * so they can be read on any thread. Subscribe through {@link RaidEventBus}.
+ */
+public sealed interface RaidEvent {
+
+    /**
+     * The UUID of the raid boss entity, which identifies the raid.
+     */
+    UUID bossUuid();
+
+    /**
+     * A raid boss spawned, naturally or by command.
+     */
+    record Spawned(UUID bossUuid, String species, Identifier dimension, Vec3d pos, long maxHealth) implements RaidEvent {}
+
+    /**
+     * A player won a battle against the boss and dealt {@code damage}.
+     */
+    record Damaged(UUID bossUuid, UUID playerUuid, long damage, long remainingHealth, long maxHealth) implements RaidEvent {}
+
+    /**
+     * The boss's health reached zero. {@code damagers} holds the total damage dealt by each player. Followed by
+     * {@link Ended}.
+     */
+    record Defeated(UUID bossUuid, String species, UUID finishingPlayerUuid, Map<UUID, Long> damagers) implements RaidEvent {
+        public Defeated {
+            damagers = Map.copyOf(damagers);
+        }
+    }
+
+    /**
+     * The boss's despawn timer ran out before it was defeated. Followed by {@link Ended}.
+     */
+    record Despawned(UUID bossUuid, String species) implements RaidEvent {}
+
+    /**
+     * The raid is over, for whatever reason. Every raid that raised {@link Spawned} raises exactly one of these, so
+     * it is the event to stop tracking a raid on. Only catch events for a defeated boss can follow it.
+     */
+    record Ended(UUID bossUuid, String species, Reason reason) implements RaidEvent {
+        public enum Reason {
+            /** Defeated by players; {@link Defeated} came first. */
+            DEFEATED,
+            /** Its despawn timer ran out; {@link Despawned} came first. */
+            DESPAWNED,
+            /** The boss entity was removed from the world by something other than the raid. */
+            REMOVED,
+            /** Ended by a command or another mod. */
+            CANCELLED
+        }
+    }
+
+    /**
+     * A catchable copy of a defeated boss appeared for one of its damagers.
+     */
+    record CatchStarted(UUID bossUuid, UUID playerUuid, UUID catchableUuid, String species) implements RaidEvent {}
+
+    /**
+     * A player caught their catchable copy of the boss.
+     */
+    record Caught(UUID bossUuid, UUID playerUuid, String species) implements RaidEvent {}
+
+    /**
+     * A player's catchable copy of the boss ran away before it was caught.
+     */
+    record Fled(UUID bossUuid, UUID playerUuid, String species) implements RaidEvent {}
+}
@@ -0,0 +1,132 @@
+package com.cobbleraids.api;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Raid lifecycle events for other mods.
+ * <p>
+ * {@link #listen} listeners run immediately on the thread that raised the event, which is the server thread for
+ * everything but {@link RaidEvent.Damaged} (raised where the battle ends). They delay the tick for as long as they
+ * run, so they should only hand work off. {@link #listenAsync} listeners run on a single daemon thread: events are
+ * put in a bounded lock-free ring and delivered from it in batches, in the order they were raised. If async
+ * listeners fall so far behind that the ring fills up, new events are dropped for them (and counted), so a slow
+ * listener can never hold up the server.
+ * <p>
+ * <pre>{@code
+ * RaidEventBus.getInstance().listenAsync(RaidEvent.Defeated.class, event -> discord.post(...));
+ * }</pre>
+ */
+public final class RaidEventBus {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaidEventBus.class);
+    private static final RaidEventBus INSTANCE = new RaidEventBus();
+    private static final int CAPACITY = 4096;
+    private static final int BATCH_SIZE = 256;
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private record Listener<E extends RaidEvent>(Class<E> type, Consumer<? super E> consumer) {
+        void dispatch(RaidEvent event) {
+            if (!type.isInstance(event)) return;
+            try {
+                consumer.accept(type.cast(event));
+            } catch (Throwable e) {
+                LOGGER.error("Raid event listener failed for {}", event, e);
+            }
+        }
+    }
+
+    private final List<Listener<?>> syncListeners = new CopyOnWriteArrayList<>();
+    private final List<Listener<?>> asyncListeners = new CopyOnWriteArrayList<>();
+    private final EventRing<RaidEvent> ring = new EventRing<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread deliveryThread;
+    private volatile boolean waiting;
+    private long reportedDrops;
+
+    private RaidEventBus() {}
+
+    public static RaidEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    public <E extends RaidEvent> Subscription listen(Class<E> type, Consumer<? super E> listener) {
+        Listener<E> entry = new Listener<>(type, listener);
+        syncListeners.add(entry);
+        return () -> syncListeners.remove(entry);
+    }
+
+    public <E extends RaidEvent> Subscription listenAsync(Class<E> type, Consumer<? super E> listener) {
+        Listener<E> entry = new Listener<>(type, listener);
+        asyncListeners.add(entry);
+        startDelivery();
+        return () -> asyncListeners.remove(entry);
+    }
+
+    /**
+     * @return async events dropped so far because the ring was full.
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Raises an event. Never blocks.
+     */
+    @ApiStatus.Internal
+    public void post(RaidEvent event) {
+        for (Listener<?> listener : syncListeners) {
+            listener.dispatch(event);
+        }
+        if (asyncListeners.isEmpty()) return;
+        if (!ring.offer(event)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (waiting) LockSupport.unpark(deliveryThread);
+    }
+
+    private synchronized void startDelivery() {
+        if (deliveryThread != null) return;
+        Thread thread = new Thread(this::deliver, "CobbleRaids-Events");
+        thread.setDaemon(true);
+        deliveryThread = thread;
+        thread.start();
+    }
+
+    private void deliver() {
+        List<RaidEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            if (ring.drain(batch, BATCH_SIZE) == 0) {
+                waiting = true;
+                // Re-checked after announcing we wait, so an event posted in between is not missed.
+                if (ring.isEmpty()) LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+                waiting = false;
+                continue;
+            }
+            for (RaidEvent event : batch) {
+                for (Listener<?> listener : asyncListeners) {
+                    listener.dispatch(event);
+                }
+            }
+            batch.clear();
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                LOGGER.warn("{} raid event(s) were dropped because async listeners fell behind.", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+        }
+    }
+}
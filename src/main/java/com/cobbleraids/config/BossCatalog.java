@@ -0,0 +1,317 @@
+package com.cobbleraids.config;
+
+import com.cobbleraids.utils.config.ConfigIoService;
+import com.cobbleraids.utils.config.JsoncReader;
+import com.cobbleraids.utils.io.AtomicFiles;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The raid boss catalog: one {@code <id>.jsonc} file per boss in the {@code bosses} config directory.
+ * <p>
+ * Next to the boss files sits {@code index.json}, which holds every boss's spawn-selection fields (species string,
+ * spawn chance, time of day, minimum players and spawn points) together with the size and modification time of the
+ * file they were read from. On open, only files that are new or whose size or modification time no longer match the
+ * index are parsed, in parallel; everything else is taken from the index. Full definitions are read on first use
+ * through {@link #definition}, or all at once through {@link #loadAll}.
+ * <p>
+ * The directory is watched through the shared {@link ConfigIoService}. An edited, added or deleted file is reloaded
+ * on its own after a short debounce, and listeners are told which boss changed.
+ */
+public class BossCatalog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BossCatalog.class);
+    private static final String EXTENSION = ".jsonc";
+    private static final String INDEX_FILE = "index.json";
+    private static final String LEGACY_FILE = "config.jsonc";
+    private static final int INDEX_VERSION = 1;
+    private static final long DEBOUNCE_MS = 500;
+
+    /**
+     * What spawn selection needs to know about a boss, without reading its file.
+     */
+    public record IndexEntry(String id, long size, long modified, String species, double spawnChance, String timeOfDay,
+                             int minOnlinePlayers, List<RaidBossConfig.SpawnPoint> spawnPoints) {
+
+        private static IndexEntry of(String id, BasicFileAttributes attributes, RaidBossConfig.RaidBoss boss) {
+            return new IndexEntry(id, attributes.size(), attributes.lastModifiedTime().toMillis(), boss.species,
+                    boss.spawnChance, boss.timeOfDay, boss.minOnlinePlayers,
+                    boss.spawnPoints == null ? List.of() : List.copyOf(boss.spawnPoints));
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && modified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+
+    private record IndexFile(int version, List<IndexEntry> bosses) {}
+
+    private final Path directory;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private final ConfigIoService io = ConfigIoService.getInstance();
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<RaidBossConfig.RaidBoss>> definitions = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final BiConsumer<Path, WatchEvent.Kind<?>> watchListener = (file, kind) -> onFileEvent(file);
+
+    public BossCatalog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the directory, splits a legacy single-file config or writes the default bosses if there are no boss
+     * files, brings the index up to date and starts watching.
+     */
+    public void open() {
+        try {
+            Files.createDirectories(directory);
+            migrateLegacyConfig();
+            if (listBossIds().isEmpty()) {
+                LOGGER.info("No raid boss files found in '{}'. Creating the default bosses.", directory);
+                writeBosses(new RaidBossConfig().getBosses());
+            }
+            readIndex();
+            refreshIndex();
+            writeIndex();
+        } catch (IOException e) {
+            LOGGER.error("Failed to open the raid boss catalog in '{}': {}", directory, e.getMessage());
+        }
+        io.watchDirectory(directory, watchListener);
+    }
+
+    /**
+     * Stops watching the directory and drops reloads that have not started yet.
+     */
+    public void close() {
+        io.unwatchDirectory(directory, watchListener);
+        pendingReloads.values().forEach(pending -> pending.cancel(false));
+        pendingReloads.clear();
+    }
+
+    /**
+     * Called on a config I/O thread with the id of every boss that was added, changed or removed.
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    public Collection<IndexEntry> getIndex() {
+        return List.copyOf(index.values());
+    }
+
+    public Set<String> getIds() {
+        return Set.copyOf(index.keySet());
+    }
+
+    /**
+     * @return the full definition of a boss, read from its file on the config I/O executor the first time it is asked
+     * for. Fails without caching anything if the executor has been shut down.
+     */
+    public CompletableFuture<RaidBossConfig.RaidBoss> definition(String id) {
+        try {
+            return definitions.computeIfAbsent(id, key -> CompletableFuture.supplyAsync(() -> readBoss(fileFor(key)), io.executor()));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Reads every definition not loaded yet, in parallel.
+     */
+    public CompletableFuture<Void> loadAll() {
+        return CompletableFuture.allOf(getIds().stream().map(this::definition).toArray(CompletableFuture[]::new));
+    }
+
+    private void refreshIndex() throws IOException {
+        Set<String> ids = listBossIds();
+        index.keySet().retainAll(ids);
+
+        Map<String, CompletableFuture<Void>> parsing = new HashMap<>();
+        for (String id : ids) {
+            Path file = fileFor(id);
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            IndexEntry entry = index.get(id);
+            if (entry != null && entry.matches(attributes)) continue;
+            index.remove(id);
+            parsing.put(id, CompletableFuture.runAsync(() -> {
+                RaidBossConfig.RaidBoss boss = readBoss(file);
+                index.put(id, IndexEntry.of(id, attributes, boss));
+                definitions.put(id, CompletableFuture.completedFuture(boss));
+            }, io.executor()));
+        }
+        parsing.forEach((id, task) -> {
+            try {
+                task.join();
+            } catch (CompletionException e) {
+                LOGGER.error("Skipping raid boss file '{}{}': {}", id, EXTENSION, describe(e));
+            }
+        });
+        LOGGER.info("Raid boss catalog: {} boss(es), {} read from disk, {} from the index.", index.size(), parsing.size(), ids.size() - parsing.size());
+    }
+
+    private void onFileEvent(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(EXTENSION) || name.equals(LEGACY_FILE)) return;
+        String id = name.substring(0, name.length() - EXTENSION.length());
+        pendingReloads.compute(id, (key, pending) -> {
+            if (pending != null) pending.cancel(false);
+            try {
+                return io.executor().schedule(() -> reloadBoss(key), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Ignoring a change to raid boss '{}': the config I/O service is stopped.", key);
+                return null;
+            }
+        });
+    }
+
+    private void reloadBoss(String id) {
+        pendingReloads.remove(id);
+        Path file = fileFor(id);
+        if (!Files.exists(file)) {
+            if (index.remove(id) != null) {
+                definitions.remove(id);
+                LOGGER.info("Raid boss '{}' was removed.", id);
+                writeIndexQuietly();
+                notifyListeners(id);
+            }
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            IndexEntry entry = index.get(id);
+            if (entry != null && entry.matches(attributes)) return;
+            RaidBossConfig.RaidBoss boss = readBoss(file);
+            index.put(id, IndexEntry.of(id, attributes, boss));
+            definitions.put(id, CompletableFuture.completedFuture(boss));
+            LOGGER.info("Reloaded raid boss '{}'.", id);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to reload raid boss file '{}'; keeping the previous definition: {}", file.getFileName(), describe(e));
+            return;
+        }
+        writeIndexQuietly();
+        notifyListeners(id);
+    }
+
+    private void notifyListeners(String id) {
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(id);
+            } catch (Exception e) {
+                LOGGER.error("Raid boss catalog listener failed for '{}'", id, e);
+            }
+        }
+    }
+
+    private RaidBossConfig.RaidBoss readBoss(Path file) {
+        try (JsoncReader in = JsoncReader.open(file)) {
+            RaidBossConfig.RaidBoss boss = gson.fromJson(in, RaidBossConfig.RaidBoss.class);
+            if (boss == null) throw new JsonParseException("File is empty.");
+            return boss;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Splits a {@code config.jsonc} from the single-file layout into one file per boss and renames it out of the way.
+     */
+    private void migrateLegacyConfig() throws IOException {
+        Path legacyFile = directory.resolve(LEGACY_FILE);
+        if (!Files.exists(legacyFile)) return;
+        RaidBossConfig legacy;
+        try (JsoncReader in = JsoncReader.open(legacyFile)) {
+            legacy = gson.fromJson(in, RaidBossConfig.class);
+        } catch (JsonParseException e) {
+            LOGGER.error("Could not migrate legacy raid boss config '{}'. Fix or remove it: {}", legacyFile, e.getMessage());
+            return;
+        }
+        if (legacy != null && legacy.getBosses() != null) {
+            writeBosses(legacy.getBosses());
+            LOGGER.info("Split {} raid boss(es) from '{}' into one file each.", legacy.getBosses().size(), legacyFile.getFileName());
+        }
+        Files.move(legacyFile, legacyFile.resolveSibling(LEGACY_FILE + ".migrated"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeBosses(List<RaidBossConfig.RaidBoss> bosses) throws IOException {
+        Set<String> used = listBossIds();
+        for (RaidBossConfig.RaidBoss boss : bosses) {
+            String base = fileIdFor(boss.species);
+            String id = base;
+            for (int n = 2; !used.add(id); n++) {
+                id = base + "_" + n;
+            }
+            AtomicFiles.write(fileFor(id), gson.toJson(boss).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void readIndex() {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) return;
+        try {
+            IndexFile stored = gson.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), IndexFile.class);
+            if (stored == null || stored.version() != INDEX_VERSION || stored.bosses() == null) return;
+            for (IndexEntry entry : stored.bosses()) {
+                if (entry != null && entry.id() != null) index.put(entry.id(), entry);
+            }
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Ignoring unreadable raid boss index; all boss files will be read. Reason: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void writeIndex() throws IOException {
+        List<IndexEntry> entries = new ArrayList<>(index.values());
+        entries.sort(Comparator.comparing(IndexEntry::id));
+        AtomicFiles.write(directory.resolve(INDEX_FILE), gson.toJson(new IndexFile(INDEX_VERSION, entries)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeIndexQuietly() {
+        try {
+            writeIndex();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write the raid boss index: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> listBossIds() throws IOException {
+        Set<String> ids = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION) && !name.equals(LEGACY_FILE))
+                    .forEach(name -> ids.add(name.substring(0, name.length() - EXTENSION.length())));
+        }
+        return ids;
+    }
+
+    private Path fileFor(String id) {
+        return directory.resolve(id + EXTENSION);
+    }
+
+    /**
+     * A file name from the first word of a species string, e.g. {@code "charizard shiny=yes"} becomes {@code charizard}.
+     */
+    private static String fileIdFor(String species) {
+        String word = species == null ? "" : species.trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+        String id = word.replaceAll("[^a-z0-9_-]", "_");
+        return id.isEmpty() ? "boss" : id;
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof UncheckedIOException io) cause = io.getCause();
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+}
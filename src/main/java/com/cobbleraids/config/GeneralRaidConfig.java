@@ -1,13 +1,20 @@
 package com.cobbleraids.config;
 
 import com.cobbleraids.utils.config.ConfigData;
+import com.cobbleraids.utils.text.MessageTemplate;
 import java.util.List;
 import java.util.Arrays;
 
 public class GeneralRaidConfig implements ConfigData {
-    public String version = "1.3"; // Updated version
+    public String version = "1.6"; // Updated version
     public long spawnAttemptIntervalSeconds = 30;
+    // How long before each spawn attempt the spawn point's chunk starts loading in the background
+    public long spawnPrewarmSeconds = 5;
+    // Read and compile each boss file on its first spawn instead of all of them at server start
+    public boolean lazyBossLoading = false;
     public int maxActiveRaids = 1;
+    // Time per server tick, in microseconds, for raid upkeep (despawn checks, boss bar timers); the rest carries over
+    public long raidTickBudgetMicros = 500;
     // Updated to a List<String> for multi-line support and added a fancier default
     public List<String> spawnMessage = Arrays.asList(
             "§c§lA new Raid Boss has appeared!",
@@ -15,8 +22,19 @@ public class GeneralRaidConfig implements ConfigData {
             "§bType §n/warp boss§r §bto challenge it, or §6[Click Here]§b!"
     );
     public boolean showBossBarOnlyAfterBattle = true;
+    // Placeholders: {species}, {time}, {hp}, {players}, {top_damager}
     public String bossBarTitle = "{species} | Despawns in: {time}";
 
+    // Prometheus metrics export: "off", "file" (rewritten every metricsFileIntervalSeconds) or "http" (127.0.0.1 only)
+    public String metricsExport = "off";
+    public String metricsFile = "cobbleraids-metrics.prom";
+    public long metricsFileIntervalSeconds = 15;
+    public int metricsPort = 9464;
+
+    // Compiled when the config is loaded; a reload produces a new config instance, which CobbleRaids swaps in.
+    private transient volatile List<MessageTemplate> spawnMessageTemplates;
+    private transient volatile MessageTemplate bossBarTitleTemplate;
+
     @Override
     public String getVersion() {
         return version;
@@ -27,14 +45,32 @@ public class GeneralRaidConfig implements ConfigData {
         return "general_raid";
     }
 
+    @Override
+    public void onLoaded() {
+        spawnMessageTemplates = MessageTemplate.compileAll(spawnMessage);
+        bossBarTitleTemplate = MessageTemplate.compile(bossBarTitle);
+    }
+
     public long getSpawnAttemptIntervalSeconds() {
         return spawnAttemptIntervalSeconds;
     }
 
+    public long getSpawnPrewarmSeconds() {
+        return spawnPrewarmSeconds;
+    }
+
+    public boolean isLazyBossLoading() {
+        return lazyBossLoading;
+    }
+
     public int getMaxActiveRaids() {
         return maxActiveRaids;
     }
 
+    public long getRaidTickBudgetNanos() {
+        return Math.max(0, raidTickBudgetMicros) * 1000L;
+    }
+
     // Now returns a List<String>
     public List<String> getSpawnMessage() {
         return spawnMessage;
@@ -47,4 +83,31 @@ public class GeneralRaidConfig implements ConfigData {
     public String getBossBarTitle() {
         return bossBarTitle;
     }
+
+    public String getMetricsExport() {
+        return metricsExport;
+    }
+
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    public long getMetricsFileIntervalSeconds() {
+        return metricsFileIntervalSeconds;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    // An instance that never went through ConfigManager has nothing compiled; compile without caching rather than race.
+    public List<MessageTemplate> getSpawnMessageTemplates() {
+        List<MessageTemplate> templates = spawnMessageTemplates;
+        return templates != null ? templates : MessageTemplate.compileAll(spawnMessage);
+    }
+
+    public MessageTemplate getBossBarTitleTemplate() {
+        MessageTemplate template = bossBarTitleTemplate;
+        return template != null ? template : MessageTemplate.compile(bossBarTitle);
+    }
 }
\ No newline at end of file
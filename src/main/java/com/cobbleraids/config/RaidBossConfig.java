@@ -6,7 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class RaidBossConfig implements ConfigData {
-    public String version = "1.0";
+    public String version = "1.1";
     public List<RaidBoss> bosses = new ArrayList<>();
 
     public RaidBossConfig() {
@@ -42,6 +42,8 @@ public class RaidBossConfig implements ConfigData {
         public List<SpawnPoint> spawnPoints = new ArrayList<>();
         public long damagePerWin;
         public long despawnTimeSeconds; // New field for despawn timer
+        public String timeOfDay = "any"; // "any", "day" or "night"
+        public int minOnlinePlayers = 0;
 
         public RaidBoss() {} // For GSON
 
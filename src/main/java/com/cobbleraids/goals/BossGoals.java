@@ -2,22 +2,20 @@ package com.cobbleraids.goals;
 
 import com.cobbleraids.CobbleRaids;
 import com.cobbleraids.CobbleRaids.Raid;
+import com.cobbleraids.raid.RaidProfiler;
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobbleraids.mixin.accessors.GoalSelectorAccessor;
 import com.cobbleraids.mixin.accessors.MobEntityAccessor;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.ai.goal.LookAroundGoal;
-import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.math.Box;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Comparator;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.UUID;
 
 public class BossGoals {
@@ -61,8 +59,11 @@ public class BossGoals {
             if (raid.getLastAttacker() == null) {
                 return false;
             }
+            RaidProfiler profiler = CobbleRaids.raidManager.getProfiler();
+            long start = profiler.begin();
             // Find the initial target.
             this.target = findTarget();
+            profiler.end(RaidProfiler.Phase.BOSS_GOALS, raid, start);
             return this.target != null;
         }
 
@@ -90,6 +91,8 @@ public class BossGoals {
          */
         @Override
         public void tick() {
+            RaidProfiler profiler = CobbleRaids.raidManager.getProfiler();
+            long start = profiler.begin();
             this.refreshTargetCooldown--;
             // If the cooldown is over, check for a new target.
             if (this.refreshTargetCooldown <= 0) {
@@ -103,43 +106,31 @@ public class BossGoals {
             if (this.target != null) {
                 this.pokemon.getLookControl().lookAt(this.target, 10.0F, 40.0F);
             }
+            profiler.end(RaidProfiler.Phase.BOSS_GOALS, raid, start);
         }
 
         /**
          * This method finds the best entity to look at based on the raid's last attacker.
-         * It prioritizes the attacker's Pokémon and falls back to the player.
+         * It prioritizes the attacker's Pokémon, as tracked by the raid's combatant registry, and falls back to the player.
          */
         @Nullable
         private Entity findTarget() {
-            ServerWorld world = (ServerWorld) this.pokemon.getWorld();
             UUID attackerUuid = raid.getLastAttacker(); // Always fetches the latest attacker UUID
 
             if (attackerUuid == null) {
                 return null;
             }
 
-            PlayerEntity attackerPlayer = world.getPlayerByUuid(attackerUuid);
-            if (attackerPlayer == null || !attackerPlayer.isAlive()) {
-                return null;
+            // If their Pokémon is out, look at it.
+            PokemonEntity combatant = raid.getCombatants().resolve(attackerUuid);
+            if (combatant != null && combatant.getWorld() == this.pokemon.getWorld()) {
+                return combatant;
             }
 
-            // Search for the active Pokémon of the last attacker.
-            Box searchArea = this.pokemon.getBoundingBox().expand(64.0D);
-            List<PokemonEntity> nearbyOwnedPokemon = world.getEntitiesByClass(
-                    PokemonEntity.class,
-                    searchArea,
-                    (pokemonEntity) -> {
-                        UUID ownerUuid = pokemonEntity.getPokemon().getOwnerUUID();
-                        return attackerPlayer.getUuid().equals(ownerUuid) &&
-                                !pokemonEntity.getUuid().equals(this.pokemon.getUuid());
-                    }
-            );
-
-            // If their Pokémon is out, target the closest one to the player.
-            if (!nearbyOwnedPokemon.isEmpty()) {
-                return nearbyOwnedPokemon.stream()
-                        .min(Comparator.comparingDouble(p -> p.squaredDistanceTo(attackerPlayer)))
-                        .orElse(null);
+            MinecraftServer server = this.pokemon.getServer();
+            ServerPlayerEntity attackerPlayer = server != null ? server.getPlayerManager().getPlayer(attackerUuid) : null;
+            if (attackerPlayer == null || !attackerPlayer.isAlive() || attackerPlayer.getWorld() != this.pokemon.getWorld()) {
+                return null;
             }
 
             // Otherwise, just look at the player themselves.
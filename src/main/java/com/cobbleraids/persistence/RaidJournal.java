@@ -0,0 +1,283 @@
+package com.cobbleraids.persistence;
+
+import com.cobbleraids.utils.io.AppendOnlyLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Crash-safe journal of raid lifecycle and damage events.
+ * <p>
+ * Events are appended to {@code raids.journal} by a background writer with group commit, so recording an event
+ * only costs a queue insert on the server thread. Periodically the full state of every raid is written to
+ * {@code raids.snapshot} (temp file, fsync, atomic move) and the journal is truncated. Every event carries a
+ * sequence number and the snapshot stores the last one it covers, so a crash between the two steps never
+ * replays an event twice. For that to hold, a snapshot must capture the raids and the sequence it covers in one
+ * step, and damage (which lands on battle threads) must change the live raid and take its sequence number in one
+ * step. Both happen under this journal's lock, see {@link #snapshot} and {@link #raidDamaged}.
+ * <p>
+ * Server ticks restart from zero with every run, so a journal must only ever hold ticks from one run: the owner takes
+ * a snapshot right after opening, which truncates whatever the previous run left. A raid created since the last
+ * snapshot records its creation tick, and {@link #clock} records advance the time while raids are active, so its
+ * despawn countdown resumes from the last clock before a crash instead of from full.
+ */
+public class RaidJournal implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaidJournal.class);
+    private static final int LOG_VERSION = 2;
+    private static final int SNAPSHOT_MAGIC = 0x43525353; // "CRSS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final byte RAID_CREATED = 1;
+    private static final byte RAID_DAMAGED = 2;
+    private static final byte PLAYER_BATTLED = 3;
+    private static final byte RAID_ENDED = 4;
+    private static final byte CLOCK = 5;
+
+    private final Path snapshotFile;
+    private final AppendOnlyLog log;
+    private final Map<UUID, RaidState> recovered;
+    private long sequence;
+
+    private RaidJournal(Path snapshotFile, AppendOnlyLog log, Map<UUID, RaidState> recovered, long sequence) {
+        this.snapshotFile = snapshotFile;
+        this.log = log;
+        this.recovered = recovered;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Loads the last snapshot, replays the journal on top of it and opens the journal for appending.
+     */
+    public static RaidJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshotFile = directory.resolve("raids.snapshot");
+        Map<UUID, RaidState> states = new LinkedHashMap<>();
+        long snapshotSequence = readSnapshot(snapshotFile, states);
+
+        long[] lastSequence = {snapshotSequence};
+        long[] lastTick = {0};
+        Map<UUID, Long> createdTicks = new HashMap<>();
+        AppendOnlyLog log = AppendOnlyLog.open(directory.resolve("raids.journal"), LOG_VERSION, "CobbleRaids-Journal", (type, in) -> {
+            long seq = in.readLong();
+            if (seq <= snapshotSequence) return;
+            lastSequence[0] = Math.max(lastSequence[0], seq);
+            if (type == CLOCK) {
+                lastTick[0] = Math.max(lastTick[0], in.readLong());
+                return;
+            }
+            UUID bossUuid = RaidState.readUuid(in);
+            switch (type) {
+                case RAID_CREATED -> {
+                    RaidState state = new RaidState(bossUuid, in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                            0, Map.of(), Set.of());
+                    long createdTick = in.readLong();
+                    states.put(bossUuid, state);
+                    createdTicks.put(bossUuid, createdTick);
+                    lastTick[0] = Math.max(lastTick[0], createdTick);
+                }
+                case RAID_DAMAGED -> {
+                    UUID playerUuid = RaidState.readUuid(in);
+                    long damage = in.readLong();
+                    RaidState state = states.get(bossUuid);
+                    if (state != null) state.applyDamage(playerUuid, damage);
+                }
+                case PLAYER_BATTLED -> {
+                    UUID playerUuid = RaidState.readUuid(in);
+                    RaidState state = states.get(bossUuid);
+                    if (state != null) state.addBattledPlayer(playerUuid);
+                }
+                case RAID_ENDED -> states.remove(bossUuid);
+                default -> LOGGER.warn("Unknown raid journal record type {}", type);
+            }
+        });
+        createdTicks.forEach((bossUuid, createdTick) -> {
+            RaidState state = states.get(bossUuid);
+            if (state != null) state.setElapsedTicks(Math.max(0, lastTick[0] - createdTick));
+        });
+
+        LOGGER.info("Raid journal opened with {} raid(s) to recover.", states.size());
+        return new RaidJournal(snapshotFile, log, states, lastSequence[0]);
+    }
+
+    /**
+     * @return the raids that were still active when the journal was last written.
+     */
+    public Collection<RaidState> getRecoveredRaids() {
+        return Collections.unmodifiableCollection(recovered.values());
+    }
+
+    /**
+     * @param createdTick the server tick the raid was created on.
+     */
+    public synchronized void raidCreated(UUID bossUuid, long maxHealth, long currentHealth, long damagePerWin, long despawnTimeSeconds,
+                                         long createdTick) {
+        long seq = ++sequence;
+        log.append(record(RAID_CREATED, out -> {
+            out.writeLong(seq);
+            RaidState.writeUuid(out, bossUuid);
+            out.writeLong(maxHealth);
+            out.writeLong(currentHealth);
+            out.writeLong(damagePerWin);
+            out.writeLong(despawnTimeSeconds);
+            out.writeLong(createdTick);
+        }));
+    }
+
+    /**
+     * Records that the server has reached {@code tick}, so raids created since the last snapshot know how long they
+     * ran if the server stops before the next one.
+     */
+    public synchronized void clock(long tick) {
+        long seq = ++sequence;
+        log.append(record(CLOCK, out -> {
+            out.writeLong(seq);
+            out.writeLong(tick);
+        }));
+    }
+
+    /**
+     * Applies a hit to the live raid and journals it as one step, so a concurrent {@link #snapshot} sees either
+     * both or neither.
+     * @param apply applies the hit in memory; it runs under the journal lock, so it must be quick.
+     * @param landed whether the hit landed and must be journaled.
+     * @return what {@code apply} returned.
+     */
+    public synchronized <T> T raidDamaged(UUID bossUuid, UUID playerUuid, long damage, Supplier<T> apply, Predicate<? super T> landed) {
+        T result = apply.get();
+        if (landed.test(result)) raidDamaged(bossUuid, playerUuid, damage);
+        return result;
+    }
+
+    private void raidDamaged(UUID bossUuid, UUID playerUuid, long damage) {
+        long seq = ++sequence;
+        log.append(record(RAID_DAMAGED, out -> {
+            out.writeLong(seq);
+            RaidState.writeUuid(out, bossUuid);
+            RaidState.writeUuid(out, playerUuid);
+            out.writeLong(damage);
+        }));
+    }
+
+    public synchronized void playerBattled(UUID bossUuid, UUID playerUuid) {
+        long seq = ++sequence;
+        log.append(record(PLAYER_BATTLED, out -> {
+            out.writeLong(seq);
+            RaidState.writeUuid(out, bossUuid);
+            RaidState.writeUuid(out, playerUuid);
+        }));
+    }
+
+    public synchronized void raidEnded(UUID bossUuid) {
+        long seq = ++sequence;
+        log.append(record(RAID_ENDED, out -> {
+            out.writeLong(seq);
+            RaidState.writeUuid(out, bossUuid);
+        }));
+    }
+
+    /**
+     * Queues a snapshot of the raids and compacts the journal behind it. {@code states} is called under the journal
+     * lock, so no hit can land between capturing the raids and reading the sequence they cover. It must return
+     * detached copies; they are serialized on the writer thread.
+     */
+    public synchronized void snapshot(Supplier<? extends Collection<RaidState>> states) {
+        List<RaidState> copy = List.copyOf(states.get());
+        long coveredSequence = sequence;
+        log.submit(journal -> {
+            writeSnapshot(copy, coveredSequence);
+            journal.truncate();
+        });
+    }
+
+    /**
+     * Writes a final snapshot and waits for the writer to finish.
+     */
+    public void close(Supplier<? extends Collection<RaidState>> finalStates) {
+        snapshot(finalStates);
+        close();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+        LOGGER.info("Raid journal closed.");
+    }
+
+    private void writeSnapshot(List<RaidState> states, long coveredSequence) throws IOException {
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(coveredSequence);
+            out.writeInt(states.size());
+            for (RaidState state : states) {
+                state.write(out);
+            }
+            out.flush();
+            long checksum = checked.getChecksum().getValue();
+            out.writeLong(checksum);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        try {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return the last journal sequence number covered by the snapshot, or 0 if there is no usable snapshot.
+     */
+    private static long readSnapshot(Path snapshotFile, Map<UUID, RaidState> states) {
+        if (!Files.exists(snapshotFile)) return 0;
+        try (CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                LOGGER.warn("Ignoring raid snapshot '{}' with an unknown header.", snapshotFile);
+                return 0;
+            }
+            long coveredSequence = in.readLong();
+            int count = in.readInt();
+            List<RaidState> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                loaded.add(RaidState.read(in));
+            }
+            long computed = checked.getChecksum().getValue();
+            if (in.readLong() != computed) {
+                LOGGER.warn("Ignoring raid snapshot '{}' with a bad checksum.", snapshotFile);
+                return 0;
+            }
+            loaded.forEach(state -> states.put(state.getBossUuid(), state));
+            return coveredSequence;
+        } catch (IOException e) {
+            LOGGER.error("Could not read raid snapshot '{}': {}", snapshotFile, e.getMessage());
+            return 0;
+        }
+    }
+
+    private interface Payload {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private static AppendOnlyLog.Record record(byte type, Payload payload) {
+        return new AppendOnlyLog.Record() {
+            @Override
+            public byte type() { return type; }
+
+            @Override
+            public void write(DataOutput out) throws IOException { payload.write(out); }
+        };
+    }
+}
@@ -0,0 +1,370 @@
+package com.cobbleraids.persistence;
+
+import com.cobbleraids.utils.io.AppendOnlyLog;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * History of finished raids, for leaderboards and balancing.
+ * <p>
+ * Every raid that ends is recorded with its outcome, duration and what each player contributed, and every catch
+ * phase with whether the player caught the boss. Records go to {@code raids.ledger} through the same background
+ * group-commit writer as the {@link RaidJournal}, so recording only costs an index update and a queue insert on the
+ * server thread. The whole ledger is replayed into memory on open and indexed by player, player name and species,
+ * with running totals per player, so queries never touch the disk.
+ * <p>
+ * Only the last {@value #RETAINED_RESULTS} raids are kept in detail. Once the ledger holds twice that many, it is
+ * compacted on open: older raids and their catches are folded into one totals record per player, written to a new
+ * file that replaces the old one atomically. Leaderboards and player totals still cover every raid ever played, so
+ * startup time and heap use stay bounded by the retained raids and the number of players.
+ */
+public class RaidLedger implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaidLedger.class);
+    private static final int LOG_VERSION = 1;
+    private static final String FILE_NAME = "raids.ledger";
+    private static final String THREAD_NAME = "CobbleRaids-Ledger";
+    static final int RETAINED_RESULTS = 10_000;
+
+    private static final byte RESULT = 1;
+    private static final byte CATCH = 2;
+    private static final byte TOTALS = 3;
+
+    public enum Outcome { DEFEATED, DESPAWNED, REMOVED, CANCELLED }
+
+    public enum CatchOutcome { CAUGHT, FLED }
+
+    /**
+     * @param wins battles won against the boss, each of which dealt the raid's damage per win.
+     */
+    public record PlayerResult(UUID playerUuid, String name, long damage, long wins) {}
+
+    public record RaidResult(UUID bossUuid, String species, Outcome outcome, long endedMillis, long durationTicks,
+                             long maxHealth, long remainingHealth, List<PlayerResult> players) {
+        public RaidResult {
+            players = List.copyOf(players);
+        }
+
+        @Nullable
+        public PlayerResult topDamager() {
+            return players.stream().max(Comparator.comparingLong(PlayerResult::damage)).orElse(null);
+        }
+
+        private void write(DataOutput out) throws IOException {
+            RaidState.writeUuid(out, bossUuid);
+            out.writeUTF(species);
+            out.writeByte(outcome.ordinal());
+            out.writeLong(endedMillis);
+            out.writeLong(durationTicks);
+            out.writeLong(maxHealth);
+            out.writeLong(remainingHealth);
+            out.writeInt(players.size());
+            for (PlayerResult player : players) {
+                RaidState.writeUuid(out, player.playerUuid());
+                out.writeUTF(player.name());
+                out.writeLong(player.damage());
+                out.writeLong(player.wins());
+            }
+        }
+
+        private static RaidResult read(DataInput in) throws IOException {
+            UUID bossUuid = RaidState.readUuid(in);
+            String species = in.readUTF();
+            Outcome outcome = decode(Outcome.values(), in.readByte());
+            long endedMillis = in.readLong();
+            long durationTicks = in.readLong();
+            long maxHealth = in.readLong();
+            long remainingHealth = in.readLong();
+            int count = in.readInt();
+            List<PlayerResult> players = new ArrayList<>(Math.min(count, 256));
+            for (int i = 0; i < count; i++) {
+                players.add(new PlayerResult(RaidState.readUuid(in), in.readUTF(), in.readLong(), in.readLong()));
+            }
+            return new RaidResult(bossUuid, species, outcome, endedMillis, durationTicks, maxHealth, remainingHealth, players);
+        }
+    }
+
+    /**
+     * Everything a player has done across all recorded raids.
+     */
+    public record PlayerTotals(UUID playerUuid, String name, int raids, int defeats, long damage, long wins, int catches) {}
+
+    private static final class Totals {
+        private final UUID playerUuid;
+        private String name;
+        private int raids;
+        private int defeats;
+        private long damage;
+        private long wins;
+        private int catches;
+
+        private Totals(UUID playerUuid) {
+            this.playerUuid = playerUuid;
+        }
+
+        private PlayerTotals snapshot() {
+            return new PlayerTotals(playerUuid, name, raids, defeats, damage, wins, catches);
+        }
+
+        private void write(DataOutput out, @Nullable Totals retained) throws IOException {
+            RaidState.writeUuid(out, playerUuid);
+            out.writeUTF(name == null ? "" : name);
+            out.writeInt(raids - (retained == null ? 0 : retained.raids));
+            out.writeInt(defeats - (retained == null ? 0 : retained.defeats));
+            out.writeLong(damage - (retained == null ? 0 : retained.damage));
+            out.writeLong(wins - (retained == null ? 0 : retained.wins));
+            out.writeInt(catches - (retained == null ? 0 : retained.catches));
+        }
+    }
+
+    private final List<RaidResult> results = new ArrayList<>();
+    private final Map<UUID, List<RaidResult>> byPlayer = new HashMap<>();
+    private final Map<String, List<RaidResult>> bySpecies = new HashMap<>();
+    private final Map<String, UUID> playersByName = new HashMap<>();
+    private final Map<UUID, Map<UUID, CatchOutcome>> catches = new HashMap<>();
+    private final Map<UUID, Totals> totals = new HashMap<>();
+    private AppendOnlyLog log;
+
+    private RaidLedger() {}
+
+    /**
+     * Replays the ledger into memory, compacting it first if it has grown past twice the retained raids, and opens it
+     * for appending.
+     */
+    public static RaidLedger open(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        RaidLedger ledger = replay(file);
+        if (ledger.results.size() > 2 * RETAINED_RESULTS) {
+            ledger.log.close();
+            if (ledger.compact(file)) {
+                ledger = replay(file);
+            } else {
+                ledger.log = AppendOnlyLog.open(file, LOG_VERSION, THREAD_NAME, (type, in) -> {});
+            }
+        }
+        LOGGER.info("Raid ledger opened with {} recorded raid(s).", ledger.results.size());
+        return ledger;
+    }
+
+    private static RaidLedger replay(Path file) throws IOException {
+        RaidLedger ledger = new RaidLedger();
+        ledger.log = AppendOnlyLog.open(file, LOG_VERSION, THREAD_NAME, (type, in) -> {
+            switch (type) {
+                case RESULT -> ledger.index(RaidResult.read(in));
+                case CATCH -> ledger.indexCatch(RaidState.readUuid(in), RaidState.readUuid(in), decode(CatchOutcome.values(), in.readByte()));
+                case TOTALS -> ledger.indexTotals(in);
+                default -> LOGGER.warn("Unknown raid ledger record type {}", type);
+            }
+        });
+        return ledger;
+    }
+
+    /**
+     * Rewrites the ledger with the last {@link #RETAINED_RESULTS} raids, their catches, and per-player totals for
+     * everything older. The new file is written next to the old one, checked and then moved over it.
+     * @return false if the old file was left in place.
+     */
+    private boolean compact(Path file) throws IOException {
+        List<RaidResult> retained = results.subList(results.size() - RETAINED_RESULTS, results.size());
+        Set<UUID> retainedBosses = new HashSet<>();
+        retained.forEach(result -> retainedBosses.add(result.bossUuid()));
+        Set<UUID> droppedBosses = new HashSet<>();
+        results.subList(0, results.size() - RETAINED_RESULTS).forEach(result -> droppedBosses.add(result.bossUuid()));
+        droppedBosses.removeAll(retainedBosses);
+
+        // What replaying the retained records alone adds up to; the totals records carry the rest.
+        RaidLedger replayed = new RaidLedger();
+        totals.keySet().forEach(playerUuid -> replayed.totals.put(playerUuid, new Totals(playerUuid)));
+        retained.forEach(replayed::index);
+        catches.forEach((bossUuid, raidCatches) -> {
+            if (!droppedBosses.contains(bossUuid)) raidCatches.forEach((playerUuid, outcome) -> replayed.indexCatch(bossUuid, playerUuid, outcome));
+        });
+
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        Files.deleteIfExists(temp);
+        AppendOnlyLog out = AppendOnlyLog.open(temp, LOG_VERSION, THREAD_NAME + "-Compaction", (type, in) -> {});
+        int written = 0;
+        for (Totals player : totals.values()) {
+            Totals part = replayed.totals.get(player.playerUuid);
+            out.append(record(TOTALS, data -> player.write(data, part)));
+            written++;
+        }
+        for (RaidResult result : retained) {
+            out.append(record(RESULT, result::write));
+            written++;
+        }
+        for (Map.Entry<UUID, Map<UUID, CatchOutcome>> raidCatches : replayed.catches.entrySet()) {
+            UUID bossUuid = raidCatches.getKey();
+            for (Map.Entry<UUID, CatchOutcome> entry : raidCatches.getValue().entrySet()) {
+                out.append(record(CATCH, data -> {
+                    RaidState.writeUuid(data, bossUuid);
+                    RaidState.writeUuid(data, entry.getKey());
+                    data.writeByte(entry.getValue().ordinal());
+                }));
+                written++;
+            }
+        }
+        out.close();
+
+        // close() only logs write errors, so make sure every record made it before replacing the ledger.
+        int[] readBack = {0};
+        AppendOnlyLog.open(temp, LOG_VERSION, THREAD_NAME + "-Compaction", (type, in) -> readBack[0]++).close();
+        if (readBack[0] != written) {
+            LOGGER.error("Compacted raid ledger has {} of {} records; keeping the uncompacted ledger.", readBack[0], written);
+            Files.deleteIfExists(temp);
+            return false;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        LOGGER.info("Compacted the raid ledger: kept {} of {} raids, folded the rest into totals for {} player(s).",
+                retained.size(), results.size(), totals.size());
+        return true;
+    }
+
+    public synchronized void record(RaidResult result) {
+        index(result);
+        log.append(record(RESULT, result::write));
+    }
+
+    public synchronized void recordCatch(UUID bossUuid, UUID playerUuid, CatchOutcome outcome) {
+        indexCatch(bossUuid, playerUuid, outcome);
+        log.append(record(CATCH, out -> {
+            RaidState.writeUuid(out, bossUuid);
+            RaidState.writeUuid(out, playerUuid);
+            out.writeByte(outcome.ordinal());
+        }));
+    }
+
+    /**
+     * @return up to {@code limit} results, newest first.
+     */
+    public synchronized List<RaidResult> recent(int limit) {
+        return latest(results, limit);
+    }
+
+    public synchronized List<RaidResult> forPlayer(UUID playerUuid, int limit) {
+        return latest(byPlayer.getOrDefault(playerUuid, List.of()), limit);
+    }
+
+    public synchronized List<RaidResult> forSpecies(String species, int limit) {
+        return latest(bySpecies.getOrDefault(species.toLowerCase(Locale.ROOT), List.of()), limit);
+    }
+
+    /**
+     * @return the player last seen under {@code name} in any raid, ignoring case.
+     */
+    @Nullable
+    public synchronized UUID findPlayer(String name) {
+        return playersByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Nullable
+    public synchronized PlayerTotals totals(UUID playerUuid) {
+        Totals player = totals.get(playerUuid);
+        return player == null ? null : player.snapshot();
+    }
+
+    /**
+     * @return up to {@code limit} players by total damage dealt, highest first.
+     */
+    public synchronized List<PlayerTotals> leaderboard(int limit) {
+        return totals.values().stream()
+                .sorted(Comparator.comparingLong((Totals player) -> player.damage).reversed())
+                .limit(limit)
+                .map(Totals::snapshot)
+                .toList();
+    }
+
+    /**
+     * @return how the player's catch phase for that raid ended, or null if they had none or it is still running.
+     */
+    @Nullable
+    public synchronized CatchOutcome catchOutcome(UUID bossUuid, UUID playerUuid) {
+        Map<UUID, CatchOutcome> raidCatches = catches.get(bossUuid);
+        return raidCatches == null ? null : raidCatches.get(playerUuid);
+    }
+
+    @Override
+    public void close() {
+        log.close();
+        LOGGER.info("Raid ledger closed.");
+    }
+
+    private void index(RaidResult result) {
+        results.add(result);
+        bySpecies.computeIfAbsent(result.species().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(result);
+        for (PlayerResult player : result.players()) {
+            byPlayer.computeIfAbsent(player.playerUuid(), key -> new ArrayList<>()).add(result);
+            playersByName.put(player.name().toLowerCase(Locale.ROOT), player.playerUuid());
+            Totals playerTotals = totals.computeIfAbsent(player.playerUuid(), Totals::new);
+            playerTotals.name = player.name();
+            playerTotals.raids++;
+            if (result.outcome() == Outcome.DEFEATED) playerTotals.defeats++;
+            playerTotals.damage += player.damage();
+            playerTotals.wins += player.wins();
+        }
+    }
+
+    private void indexTotals(DataInput in) throws IOException {
+        UUID playerUuid = RaidState.readUuid(in);
+        Totals playerTotals = totals.computeIfAbsent(playerUuid, Totals::new);
+        String name = in.readUTF();
+        if (!name.isEmpty()) {
+            playerTotals.name = name;
+            playersByName.put(name.toLowerCase(Locale.ROOT), playerUuid);
+        }
+        playerTotals.raids += in.readInt();
+        playerTotals.defeats += in.readInt();
+        playerTotals.damage += in.readLong();
+        playerTotals.wins += in.readLong();
+        playerTotals.catches += in.readInt();
+    }
+
+    private void indexCatch(UUID bossUuid, UUID playerUuid, CatchOutcome outcome) {
+        catches.computeIfAbsent(bossUuid, key -> new HashMap<>()).put(playerUuid, outcome);
+        if (outcome == CatchOutcome.CAUGHT) {
+            Totals playerTotals = totals.get(playerUuid);
+            if (playerTotals != null) playerTotals.catches++;
+        }
+    }
+
+    private static List<RaidResult> latest(List<RaidResult> list, int limit) {
+        List<RaidResult> latest = new ArrayList<>(Math.min(limit, list.size()));
+        for (int i = list.size() - 1; i >= 0 && latest.size() < limit; i--) {
+            latest.add(list.get(i));
+        }
+        return latest;
+    }
+
+    private static <E extends Enum<E>> E decode(E[] values, byte ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) throw new IOException("Unknown value " + ordinal);
+        return values[ordinal];
+    }
+
+    private interface Payload {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private static AppendOnlyLog.Record record(byte type, Payload payload) {
+        return new AppendOnlyLog.Record() {
+            @Override
+            public byte type() { return type; }
+
+            @Override
+            public void write(DataOutput out) throws IOException { payload.write(out); }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.cobbleraids.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A detached copy of everything needed to rebuild a {@link com.cobbleraids.CobbleRaids.Raid} after a restart.
+ * Instances are built on the server thread and handed to the journal writer, so they are never shared while mutable.
+ */
+public class RaidState {
+    private final UUID bossUuid;
+    private final long maxHealth;
+    private final long damagePerWin;
+    private final long despawnTimeSeconds;
+    private long currentHealth;
+    private long elapsedTicks;
+    private final Map<UUID, Long> damagers;
+    private final Set<UUID> battledPlayers;
+
+    public RaidState(UUID bossUuid, long maxHealth, long currentHealth, long damagePerWin, long despawnTimeSeconds,
+                     long elapsedTicks, Map<UUID, Long> damagers, Set<UUID> battledPlayers) {
+        this.bossUuid = bossUuid;
+        this.maxHealth = maxHealth;
+        this.currentHealth = currentHealth;
+        this.damagePerWin = damagePerWin;
+        this.despawnTimeSeconds = despawnTimeSeconds;
+        this.elapsedTicks = elapsedTicks;
+        this.damagers = new LinkedHashMap<>(damagers);
+        this.battledPlayers = new LinkedHashSet<>(battledPlayers);
+    }
+
+    public UUID getBossUuid() { return bossUuid; }
+    public long getMaxHealth() { return maxHealth; }
+    public long getCurrentHealth() { return currentHealth; }
+    public long getDamagePerWin() { return damagePerWin; }
+    public long getDespawnTimeSeconds() { return despawnTimeSeconds; }
+    public long getElapsedTicks() { return elapsedTicks; }
+    public Map<UUID, Long> getDamagers() { return damagers; }
+    public Set<UUID> getBattledPlayers() { return battledPlayers; }
+
+    void applyDamage(UUID playerUuid, long damage) {
+        currentHealth = Math.max(0, currentHealth - damage);
+        damagers.merge(playerUuid, damage, Long::sum);
+    }
+
+    void setElapsedTicks(long elapsedTicks) {
+        this.elapsedTicks = elapsedTicks;
+    }
+
+    void addBattledPlayer(UUID playerUuid) {
+        battledPlayers.add(playerUuid);
+    }
+
+    void write(DataOutput out) throws IOException {
+        writeUuid(out, bossUuid);
+        out.writeLong(maxHealth);
+        out.writeLong(currentHealth);
+        out.writeLong(damagePerWin);
+        out.writeLong(despawnTimeSeconds);
+        out.writeLong(elapsedTicks);
+        out.writeInt(damagers.size());
+        for (Map.Entry<UUID, Long> entry : damagers.entrySet()) {
+            writeUuid(out, entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        out.writeInt(battledPlayers.size());
+        for (UUID uuid : battledPlayers) {
+            writeUuid(out, uuid);
+        }
+    }
+
+    static RaidState read(DataInput in) throws IOException {
+        UUID bossUuid = readUuid(in);
+        long maxHealth = in.readLong();
+        long currentHealth = in.readLong();
+        long damagePerWin = in.readLong();
+        long despawnTimeSeconds = in.readLong();
+        long elapsedTicks = in.readLong();
+        int damagerCount = in.readInt();
+        Map<UUID, Long> damagers = new LinkedHashMap<>();
+        for (int i = 0; i < damagerCount; i++) {
+            damagers.put(readUuid(in), in.readLong());
+        }
+        int battledCount = in.readInt();
+        Set<UUID> battled = new LinkedHashSet<>();
+        for (int i = 0; i < battledCount; i++) {
+            battled.add(readUuid(in));
+        }
+        return new RaidState(bossUuid, maxHealth, currentHealth, damagePerWin, despawnTimeSeconds, elapsedTicks, damagers, battled);
+    }
+
+    static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
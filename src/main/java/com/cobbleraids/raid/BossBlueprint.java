@@ -0,0 +1,86 @@
+package com.cobbleraids.raid;
+
+import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mod.common.api.pokemon.PokemonProperties;
+import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.cobblemon.mod.common.pokemon.Species;
+import com.cobblemon.mod.common.pokemon.properties.UncatchableProperty;
+import com.cobbleraids.config.RaidBossConfig;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * A configured raid boss, validated and resolved once per load of its definition.
+ * <p>
+ * The species string is parsed into {@link PokemonProperties} and checked against the species registry (except for
+ * {@code random}, which {@link PokemonProperties#create()} resolves on every spawn), and the numbers are range-checked
+ * against Cobblemon's configured limits. Spawning a boss is then just {@link #create()}. Blueprints copy everything they need out
+ * of the (mutable) config, so they can be shared freely once built. Where a boss may spawn is its {@link SpawnCandidate}.
+ *
+ * @param id the boss's catalog id.
+ * @param name the species string as written in the config, used in messages.
+ * @param species the resolved species, or null for a random one.
+ */
+public record BossBlueprint(String id, String name, PokemonProperties properties, @Nullable Species species, int level, float scale,
+                            long maxHealth, long damagePerWin, long despawnTimeSeconds) {
+
+    /**
+     * Builds a fresh, full-health boss Pokemon.
+     */
+    public Pokemon create() {
+        Pokemon pokemon = properties.create();
+        pokemon.setLevel(level);
+        pokemon.setScaleModifier(scale);
+        pokemon.getCustomProperties().add(UncatchableProperty.INSTANCE.uncatchable());
+        return pokemon;
+    }
+
+    /**
+     * @throws IllegalArgumentException describing the first problem found.
+     */
+    public static BossBlueprint compile(String id, RaidBossConfig.RaidBoss boss) {
+        if (boss.species == null || boss.species.isBlank()) {
+            throw new IllegalArgumentException("no species set");
+        }
+        PokemonProperties properties = PokemonProperties.Companion.parse(boss.species);
+        Species species = null;
+        if (!isRandom(properties.getSpecies())) {
+            species = resolveSpecies(properties.getSpecies());
+            if (species == null) {
+                throw new IllegalArgumentException("unknown species");
+            }
+        }
+        int maxLevel = Cobblemon.config.getMaxPokemonLevel();
+        if (boss.level < 1 || boss.level > maxLevel) {
+            throw new IllegalArgumentException("level must be between 1 and " + maxLevel + ", was " + boss.level);
+        }
+        if (!(boss.scale > 0)) {
+            throw new IllegalArgumentException("scale must be positive, was " + boss.scale);
+        }
+        if (boss.maxHealth <= 0 || boss.damagePerWin <= 0) {
+            throw new IllegalArgumentException("maxHealth and damagePerWin must be positive");
+        }
+        if (boss.despawnTimeSeconds < 0) {
+            throw new IllegalArgumentException("despawnTimeSeconds cannot be negative");
+        }
+        return new BossBlueprint(id, boss.species, properties, species, boss.level, boss.scale, boss.maxHealth,
+                boss.damagePerWin, boss.despawnTimeSeconds);
+    }
+
+    private static boolean isRandom(@Nullable String species) {
+        return species != null && species.equalsIgnoreCase("random");
+    }
+
+    @Nullable
+    private static Species resolveSpecies(@Nullable String species) {
+        if (species == null) return null;
+        if (species.indexOf(':') >= 0) {
+            Identifier id = Identifier.tryParse(species);
+            return id == null ? null : PokemonSpecies.INSTANCE.getByIdentifier(id);
+        }
+        return PokemonSpecies.INSTANCE.getByName(species.toLowerCase(Locale.ROOT));
+    }
+}
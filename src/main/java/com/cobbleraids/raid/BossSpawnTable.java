@@ -0,0 +1,130 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.utils.random.AliasTable;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Precompiled spawn table for the configured raid bosses, rebuilt from their {@link SpawnCandidate}s whenever the
+ * boss catalog index changes.
+ * <p>
+ * Bosses are split into eligibility buckets by time of day and minimum online player count. Each bucket holds an
+ * alias table over dimensions and, per dimension, an alias table over every (boss, spawn point) pair. Each pair is
+ * weighted by {@code spawnChance / spawnPoints.size()}, which gives the same odds as picking a boss by spawn chance
+ * and then one of its spawn points uniformly. Sampling is O(1) and allocation-free.
+ */
+public final class BossSpawnTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BossSpawnTable.class);
+
+    public static final BossSpawnTable EMPTY = new BossSpawnTable(new int[]{0}, new Bucket[]{null}, new Bucket[]{null});
+
+    public record Entry(SpawnCandidate boss, SpawnCandidate.SpawnLocation spawnPoint) {}
+
+    private final int[] bucketByPlayerCount;
+    private final Bucket[] dayBuckets;
+    private final Bucket[] nightBuckets;
+
+    private BossSpawnTable(int[] bucketByPlayerCount, Bucket[] dayBuckets, Bucket[] nightBuckets) {
+        this.bucketByPlayerCount = bucketByPlayerCount;
+        this.dayBuckets = dayBuckets;
+        this.nightBuckets = nightBuckets;
+    }
+
+    public static BossSpawnTable build(List<SpawnCandidate> bosses) {
+        List<SpawnCandidate> usable = new ArrayList<>();
+        for (SpawnCandidate boss : bosses) {
+            if (boss.spawnChance() <= 0) continue;
+            if (boss.spawnPoints().isEmpty()) {
+                LOGGER.warn("Raid boss '{}' has no preset spawn points defined and will never spawn naturally.", boss.name());
+                continue;
+            }
+            usable.add(boss);
+        }
+        if (usable.isEmpty()) return EMPTY;
+
+        // Each distinct minimum player count starts a new bucket; bucket i holds every boss whose minimum is <= thresholds[i].
+        int[] thresholds = usable.stream().mapToInt(SpawnCandidate::minOnlinePlayers).distinct().sorted().toArray();
+        if (thresholds[0] != 0) {
+            int[] withZero = new int[thresholds.length + 1];
+            System.arraycopy(thresholds, 0, withZero, 1, thresholds.length);
+            thresholds = withZero;
+        }
+        int[] bucketByPlayerCount = new int[thresholds[thresholds.length - 1] + 1];
+        for (int bucket = 0, count = 0; count < bucketByPlayerCount.length; count++) {
+            while (bucket + 1 < thresholds.length && thresholds[bucket + 1] <= count) bucket++;
+            bucketByPlayerCount[count] = bucket;
+        }
+
+        Bucket[] dayBuckets = new Bucket[thresholds.length];
+        Bucket[] nightBuckets = new Bucket[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            int maxRequired = thresholds[i];
+            dayBuckets[i] = Bucket.build(usable, boss -> boss.minOnlinePlayers() <= maxRequired && boss.timeOfDay().allows(true));
+            nightBuckets[i] = Bucket.build(usable, boss -> boss.minOnlinePlayers() <= maxRequired && boss.timeOfDay().allows(false));
+        }
+        return new BossSpawnTable(bucketByPlayerCount, dayBuckets, nightBuckets);
+    }
+
+    /**
+     * @return a boss and spawn point eligible for the given conditions, or null if none is.
+     */
+    @Nullable
+    public Entry sample(boolean day, int onlinePlayers, Random random) {
+        int bucketIndex = bucketByPlayerCount[Math.min(Math.max(onlinePlayers, 0), bucketByPlayerCount.length - 1)];
+        Bucket bucket = day ? dayBuckets[bucketIndex] : nightBuckets[bucketIndex];
+        return bucket == null ? null : bucket.sample(random);
+    }
+
+    private static final class Bucket {
+        private final AliasTable dimensionTable;
+        private final DimensionTable[] dimensions;
+
+        private Bucket(AliasTable dimensionTable, DimensionTable[] dimensions) {
+            this.dimensionTable = dimensionTable;
+            this.dimensions = dimensions;
+        }
+
+        @Nullable
+        private static Bucket build(List<SpawnCandidate> bosses, Predicate<SpawnCandidate> eligible) {
+            Map<RegistryKey<World>, List<Entry>> entriesByDimension = new LinkedHashMap<>();
+            Map<RegistryKey<World>, List<Double>> weightsByDimension = new LinkedHashMap<>();
+            for (SpawnCandidate boss : bosses) {
+                if (!eligible.test(boss)) continue;
+                double pointWeight = boss.spawnChance() / boss.spawnPoints().size();
+                for (SpawnCandidate.SpawnLocation point : boss.spawnPoints()) {
+                    entriesByDimension.computeIfAbsent(point.dimension(), d -> new ArrayList<>()).add(new Entry(boss, point));
+                    weightsByDimension.computeIfAbsent(point.dimension(), d -> new ArrayList<>()).add(pointWeight);
+                }
+            }
+            if (entriesByDimension.isEmpty()) return null;
+
+            DimensionTable[] dimensions = new DimensionTable[entriesByDimension.size()];
+            double[] dimensionWeights = new double[dimensions.length];
+            int index = 0;
+            for (Map.Entry<RegistryKey<World>, List<Entry>> dimension : entriesByDimension.entrySet()) {
+                double[] weights = weightsByDimension.get(dimension.getKey()).stream().mapToDouble(Double::doubleValue).toArray();
+                dimensions[index] = new DimensionTable(new AliasTable(weights), dimension.getValue().toArray(new Entry[0]));
+                dimensionWeights[index] = Arrays.stream(weights).sum();
+                index++;
+            }
+            return new Bucket(new AliasTable(dimensionWeights), dimensions);
+        }
+
+        private Entry sample(Random random) {
+            return dimensions[dimensionTable.sample(random)].sample(random);
+        }
+    }
+
+    private record DimensionTable(AliasTable table, Entry[] entries) {
+        private Entry sample(Random random) {
+            return entries[table.sample(random)];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.cobbleraids.raid;
+
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.cobblemon.mod.common.pokemon.properties.UncatchableProperty;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.DynamicRegistryManager;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source of the invisible boss clones that challengers actually battle.
+ * <p>
+ * The boss is cloned and prepared once, when the raid is created, and kept as NBT. A clone for a new battle is taken
+ * from a small pool of healed clones from finished battles. If the pool is empty, one is stamped from the prepared
+ * NBT, which is half the work of a {@code Pokemon.clone} and skips the per-battle tagging. Entities cannot be reused
+ * once discarded, so every battle still sends out a fresh entity; only the {@link Pokemon} is recycled.
+ */
+public class CloneTemplate {
+    public static final String ORIGINAL_BOSS_KEY = "original_boss_uuid";
+    public static final float CLONE_SCALE = 0.1F;
+    private static final int MAX_POOLED = 8;
+
+    private final NbtCompound template;
+    private final DynamicRegistryManager registries;
+    private final Queue<Pokemon> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final Map<UUID, Pokemon> inUse = new ConcurrentHashMap<>();
+
+    private CloneTemplate(NbtCompound template, DynamicRegistryManager registries) {
+        this.template = template;
+        this.registries = registries;
+    }
+
+    public static CloneTemplate capture(PokemonEntity bossEntity, DynamicRegistryManager registries) {
+        Pokemon prototype = bossEntity.getPokemon().clone(true, registries);
+        prototype.getPersistentData().putUuid(ORIGINAL_BOSS_KEY, bossEntity.getUuid());
+        prototype.getCustomProperties().add(UncatchableProperty.INSTANCE.uncatchable());
+        prototype.setScaleModifier(CLONE_SCALE);
+        return new CloneTemplate(prototype.saveToNBT(registries, new NbtCompound()), registries);
+    }
+
+    /**
+     * @return a full-health clone that belongs to the caller until it is passed to {@link #release}.
+     */
+    public Pokemon acquire() {
+        Pokemon clone = pool.poll();
+        if (clone != null) {
+            pooled.decrementAndGet();
+        } else {
+            clone = Pokemon.Companion.loadFromNBT(registries, template.copy());
+            clone.setUuid(UUID.randomUUID());
+        }
+        inUse.put(clone.getUuid(), clone);
+        return clone;
+    }
+
+    /**
+     * Discards a clone's battle entity and returns its {@link Pokemon} to the pool. Only a live entity can release its
+     * clone, so a late battle-end event for an entity that is already gone cannot hand back a clone that has since been
+     * reused by another battle.
+     */
+    public void release(PokemonEntity cloneEntity) {
+        if (cloneEntity.isRemoved()) return;
+        cloneEntity.discard();
+        recycle(cloneEntity.getPokemon());
+    }
+
+    /**
+     * Returns a clone that was never sent out, or whose entity has been discarded and whose battle has ended. Clones not
+     * acquired from this template, or already returned, are ignored.
+     */
+    public void recycle(Pokemon clone) {
+        if (inUse.remove(clone.getUuid()) == null) return;
+        if (pooled.incrementAndGet() > MAX_POOLED) {
+            pooled.decrementAndGet();
+            return;
+        }
+        clone.heal();
+        pool.add(clone);
+    }
+
+    /**
+     * Drops pooled clones and forgets those still in battle; their entities are discarded as their battles end.
+     */
+    public void clear() {
+        pool.clear();
+        pooled.set(0);
+        inUse.clear();
+    }
+
+    public static boolean isClone(Pokemon pokemon) {
+        return pokemon.getPersistentData().contains(ORIGINAL_BOSS_KEY);
+    }
+}
@@ -0,0 +1,66 @@
+package com.cobbleraids.raid;
+
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-raid map of challenger UUID to the Pokémon entity they currently have sent out.
+ * Fed by battle start, send-out and battle end events, so boss goals can resolve their look target without scanning entities.
+ */
+public class CombatantRegistry {
+    private final Map<UUID, Entry> combatants = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a challenger at battle start. {@code entity} may be null if their Pokémon has not been sent out yet.
+     */
+    public void track(UUID playerUuid, @Nullable PokemonEntity entity) {
+        combatants.put(playerUuid, new Entry(entity));
+    }
+
+    /**
+     * Records a send-out or switch for a registered challenger.
+     * @return true if the player is a combatant of this raid.
+     */
+    public boolean updateEntity(UUID playerUuid, PokemonEntity entity) {
+        Entry entry = combatants.get(playerUuid);
+        if (entry == null) return false;
+        entry.entity = entity;
+        return true;
+    }
+
+    public void untrack(UUID playerUuid) {
+        combatants.remove(playerUuid);
+    }
+
+    public Set<UUID> getPlayers() {
+        return combatants.keySet();
+    }
+
+    /**
+     * @return the challenger's Pokémon if it is still out in the world, otherwise null.
+     */
+    @Nullable
+    public PokemonEntity resolve(UUID playerUuid) {
+        Entry entry = combatants.get(playerUuid);
+        if (entry == null) return null;
+        PokemonEntity entity = entry.entity;
+        return entity != null && !entity.isRemoved() && entity.isAlive() ? entity : null;
+    }
+
+    public void clear() {
+        combatants.clear();
+    }
+
+    private static class Entry {
+        private volatile PokemonEntity entity;
+
+        private Entry(PokemonEntity entity) {
+            this.entity = entity;
+        }
+    }
+}
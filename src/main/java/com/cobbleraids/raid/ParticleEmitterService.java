@@ -0,0 +1,155 @@
+package com.cobbleraids.raid;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.*;
+
+/**
+ * Sends all raid particle effects, so that their cost is bounded no matter how many players are involved.
+ * <p>
+ * Repeating effects are emitters keyed by anchor entity and particle type. Any number of subscribers (e.g. every
+ * damager waiting to catch a defeated boss) share one emitter, which runs until the last one unsubscribes or the
+ * anchor is removed. Emitters and one-shot bursts are sent per viewer, scaled down with distance. Each tick they
+ * draw from a global budget and from a budget per viewer, and whatever does not fit is dropped. A small slice of both
+ * budgets is held back for small effects of at most {@link #SMALL_EFFECT_COUNT} particles (explosions, flashes), so
+ * a large burst can never crowd out the one effect that marks the moment.
+ * <p>
+ * Not thread-safe; driven from the server tick.
+ */
+public class ParticleEmitterService {
+    /** Matches the range at which the server sends non-forced particles to a client. */
+    private static final double VIEW_DISTANCE = 32.0;
+    private static final double FULL_DETAIL_DISTANCE = 12.0;
+    private static final double HALF_DETAIL_DISTANCE = 24.0;
+    private static final int GLOBAL_BUDGET_PER_TICK = 6000;
+    private static final int VIEWER_BUDGET_PER_TICK = 800;
+    private static final int SMALL_EFFECT_COUNT = 16;
+    private static final int VIEWER_RESERVE = 64;
+    private static final int GLOBAL_RESERVE = 600;
+
+    private record EmitterKey(UUID anchorUuid, ParticleEffect effect) {}
+
+    private final Map<EmitterKey, Emitter> emitters = new LinkedHashMap<>();
+    private final Object2IntOpenHashMap<UUID> viewerSpent = new Object2IntOpenHashMap<>();
+    private int globalSpent;
+    private long currentTick;
+
+    /**
+     * Subscribes to the emitter for {@code effect} on {@code anchor}, creating it if needed. A second subscription
+     * for the same anchor and effect reuses the running emitter; its parameters are not changed.
+     */
+    public void subscribe(UUID subscriber, Entity anchor, ParticleEffect effect, int count,
+                          double deltaX, double deltaY, double deltaZ, double speed, int intervalTicks) {
+        EmitterKey key = new EmitterKey(anchor.getUuid(), effect);
+        Emitter emitter = emitters.get(key);
+        if (emitter == null) {
+            // First emission on the next tick.
+            emitter = new Emitter(anchor, effect, count, deltaX, deltaY, deltaZ, speed, Math.max(1, intervalTicks), currentTick + 1);
+            emitters.put(key, emitter);
+        }
+        emitter.subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(UUID subscriber, Entity anchor, ParticleEffect effect) {
+        EmitterKey key = new EmitterKey(anchor.getUuid(), effect);
+        Emitter emitter = emitters.get(key);
+        if (emitter != null && emitter.subscribers.remove(subscriber) && emitter.subscribers.isEmpty()) {
+            emitters.remove(key);
+        }
+    }
+
+    public void unsubscribeAll(UUID subscriber) {
+        emitters.values().removeIf(emitter -> emitter.subscribers.remove(subscriber) && emitter.subscribers.isEmpty());
+    }
+
+    /**
+     * Sends a one-shot effect to nearby viewers, drawing from the same budget as the emitters.
+     */
+    public void burst(ServerWorld world, Vec3d center, ParticleEffect effect, int count,
+                      double deltaX, double deltaY, double deltaZ, double speed) {
+        emit(world, center, effect, count, deltaX, deltaY, deltaZ, speed);
+    }
+
+    public void tick() {
+        currentTick++;
+        globalSpent = 0;
+        viewerSpent.clear();
+
+        Iterator<Emitter> iterator = emitters.values().iterator();
+        while (iterator.hasNext()) {
+            Emitter emitter = iterator.next();
+            if (emitter.anchor.isRemoved()) {
+                iterator.remove();
+                continue;
+            }
+            if ((currentTick - emitter.startTick) % emitter.intervalTicks != 0) continue;
+            emit((ServerWorld) emitter.anchor.getWorld(), emitter.anchor.getBoundingBox().getCenter(), emitter.effect,
+                    emitter.count, emitter.deltaX, emitter.deltaY, emitter.deltaZ, emitter.speed);
+        }
+    }
+
+    public void clear() {
+        emitters.clear();
+        viewerSpent.clear();
+        globalSpent = 0;
+    }
+
+    private void emit(ServerWorld world, Vec3d center, ParticleEffect effect, int count,
+                      double deltaX, double deltaY, double deltaZ, double speed) {
+        boolean small = count <= SMALL_EFFECT_COUNT;
+        int viewerBudget = small ? VIEWER_BUDGET_PER_TICK : VIEWER_BUDGET_PER_TICK - VIEWER_RESERVE;
+        int globalBudget = small ? GLOBAL_BUDGET_PER_TICK : GLOBAL_BUDGET_PER_TICK - GLOBAL_RESERVE;
+        for (ServerPlayerEntity viewer : world.getPlayers()) {
+            if (globalSpent >= globalBudget) return;
+            double distanceSquared = viewer.squaredDistanceTo(center);
+            if (distanceSquared > VIEW_DISTANCE * VIEW_DISTANCE) continue;
+
+            int detailCount = levelOfDetail(count, distanceSquared);
+            int spent = viewerSpent.getInt(viewer.getUuid());
+            int allowed = Math.min(detailCount, Math.min(viewerBudget - spent, globalBudget - globalSpent));
+            // A count of zero means "one particle with an exact velocity" to the client, so never send it.
+            if (allowed <= 0) continue;
+
+            world.spawnParticles(viewer, effect, false, center.getX(), center.getY(), center.getZ(), allowed, deltaX, deltaY, deltaZ, speed);
+            viewerSpent.put(viewer.getUuid(), spent + allowed);
+            globalSpent += allowed;
+        }
+    }
+
+    private static int levelOfDetail(int count, double distanceSquared) {
+        if (distanceSquared <= FULL_DETAIL_DISTANCE * FULL_DETAIL_DISTANCE) return count;
+        if (distanceSquared <= HALF_DETAIL_DISTANCE * HALF_DETAIL_DISTANCE) return Math.max(1, count / 2);
+        return Math.max(1, count / 4);
+    }
+
+    private static class Emitter {
+        private final Entity anchor;
+        private final ParticleEffect effect;
+        private final int count;
+        private final double deltaX;
+        private final double deltaY;
+        private final double deltaZ;
+        private final double speed;
+        private final int intervalTicks;
+        private final long startTick;
+        private final Set<UUID> subscribers = new HashSet<>();
+
+        private Emitter(Entity anchor, ParticleEffect effect, int count, double deltaX, double deltaY, double deltaZ,
+                        double speed, int intervalTicks, long startTick) {
+            this.anchor = anchor;
+            this.effect = effect;
+            this.count = count;
+            this.deltaX = deltaX;
+            this.deltaY = deltaY;
+            this.deltaZ = deltaZ;
+            this.speed = speed;
+            this.intervalTicks = intervalTicks;
+            this.startTick = startTick;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.cobbleraids.raid;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.*;
+
+/**
+ * Shared chunk-grid index of online players, used to keep raid boss bars in sync with who is nearby.
+ * <p>
+ * Each tracked zone is a horizontal radius around an anchor entity. A chunk is either fully inside a zone,
+ * fully outside it, or straddling its boundary. Players are only re-evaluated when they change chunk or
+ * stand in a boundary chunk, so a sweep costs one chunk-key comparison per player, plus real work only for
+ * players who might have crossed a radius. Zones receive enter/leave callbacks for those crossings.
+ * <p>
+ * Players and anchors are read through {@link PlayerView} and {@link Anchor}, so the index runs unchanged on
+ * headless stand-ins in the JMH benchmarks. On the server it is used with {@link #SERVER_PLAYERS} and
+ * {@link #anchor(Entity)}. Worlds are compared by identity.
+ * <p>
+ * Not thread-safe; driven from the server tick.
+ *
+ * @param <P> the player type.
+ */
+public class PlayerProximityTracker<P> {
+
+    public interface Listener<P> {
+        void onEnter(P player);
+        void onLeave(P player);
+    }
+
+    public interface PlayerView<P> {
+        UUID uuid(P player);
+        Object world(P player);
+        double x(P player);
+        double z(P player);
+    }
+
+    /**
+     * The moving center of a zone. Its world is read once, when the zone is tracked.
+     */
+    public interface Anchor {
+        Object world();
+        double x();
+        double z();
+    }
+
+    public static final PlayerView<ServerPlayerEntity> SERVER_PLAYERS = new PlayerView<>() {
+        @Override
+        public UUID uuid(ServerPlayerEntity player) { return player.getUuid(); }
+
+        @Override
+        public Object world(ServerPlayerEntity player) { return player.getServerWorld(); }
+
+        @Override
+        public double x(ServerPlayerEntity player) { return player.getX(); }
+
+        @Override
+        public double z(ServerPlayerEntity player) { return player.getZ(); }
+    };
+
+    public static Anchor anchor(Entity entity) {
+        return new Anchor() {
+            @Override
+            public Object world() { return entity.getWorld(); }
+
+            @Override
+            public double x() { return entity.getX(); }
+
+            @Override
+            public double z() { return entity.getZ(); }
+        };
+    }
+
+    private enum ChunkClass { INSIDE, OUTSIDE, BOUNDARY }
+
+    private final PlayerView<P> view;
+    private final Map<Object, WorldIndex<P>> worlds = new IdentityHashMap<>();
+    private final Map<UUID, TrackedPlayer<P>> players = new HashMap<>();
+    private final Map<UUID, Zone<P>> zones = new HashMap<>();
+
+    public PlayerProximityTracker(PlayerView<P> view) {
+        this.view = view;
+    }
+
+    /**
+     * Starts tracking a zone around {@code anchor}. Players already inside are reported through {@link Listener#onEnter}.
+     */
+    public void track(UUID key, Anchor anchor, double radius, Listener<P> listener) {
+        untrack(key);
+        Object world = anchor.world();
+        Zone<P> zone = new Zone<>(anchor, world, radius, listener);
+        zones.put(key, zone);
+        WorldIndex<P> index = worlds.computeIfAbsent(world, w -> new WorldIndex<>());
+        index.zones.add(zone);
+
+        int minChunkX = ((int) Math.floor(zone.centerX - radius)) >> 4;
+        int maxChunkX = ((int) Math.floor(zone.centerX + radius)) >> 4;
+        int minChunkZ = ((int) Math.floor(zone.centerZ - radius)) >> 4;
+        int maxChunkZ = ((int) Math.floor(zone.centerZ + radius)) >> 4;
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                List<TrackedPlayer<P>> cell = index.cells.get(ChunkPos.toLong(cx, cz));
+                if (cell == null) continue;
+                for (TrackedPlayer<P> tracked : cell) {
+                    evaluate(zone, tracked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a zone. No leave callbacks are sent; the owner is expected to clean up itself.
+     */
+    public void untrack(UUID key) {
+        Zone<P> zone = zones.remove(key);
+        if (zone == null) return;
+        WorldIndex<P> index = worlds.get(zone.world);
+        if (index != null) index.zones.remove(zone);
+    }
+
+    public void removePlayer(P player) {
+        TrackedPlayer<P> tracked = players.remove(view.uuid(player));
+        if (tracked != null) detach(tracked);
+    }
+
+    public void clear() {
+        worlds.clear();
+        players.clear();
+        zones.clear();
+    }
+
+    /**
+     * Refreshes the index from the current player list and emits enter/leave deltas for every zone.
+     */
+    public void tick(Iterable<? extends P> onlinePlayers) {
+        for (Zone<P> zone : zones.values()) {
+            if (zone.refreshCenter()) {
+                for (TrackedPlayer<P> tracked : players.values()) {
+                    if (tracked.world == zone.world) evaluate(zone, tracked);
+                }
+            }
+        }
+
+        for (P player : onlinePlayers) {
+            UUID uuid = view.uuid(player);
+            Object world = view.world(player);
+            TrackedPlayer<P> tracked = players.get(uuid);
+            if (tracked == null) {
+                tracked = new TrackedPlayer<>(uuid, player);
+                players.put(uuid, tracked);
+            } else if (tracked.player != player || tracked.world != world) {
+                // Respawned or changed dimension: leave everything and start over.
+                detach(tracked);
+                tracked.player = player;
+            }
+
+            long chunkKey = ChunkPos.toLong(MathHelper.floor(view.x(player)) >> 4, MathHelper.floor(view.z(player)) >> 4);
+            boolean moved = chunkKey != tracked.chunkKey;
+            if (moved) {
+                WorldIndex<P> index = worlds.computeIfAbsent(world, w -> new WorldIndex<>());
+                if (tracked.world != null) {
+                    removeFromCell(worlds.get(tracked.world), tracked);
+                }
+                tracked.world = world;
+                tracked.chunkKey = chunkKey;
+                List<TrackedPlayer<P>> cell = index.cells.get(chunkKey);
+                if (cell == null) {
+                    cell = new ArrayList<>(4);
+                    index.cells.put(chunkKey, cell);
+                }
+                cell.add(tracked);
+            }
+            if (moved || tracked.nearBoundary) {
+                WorldIndex<P> index = worlds.get(tracked.world);
+                tracked.nearBoundary = false;
+                for (Zone<P> zone : index.zones) {
+                    evaluate(zone, tracked);
+                }
+            }
+        }
+    }
+
+    private void evaluate(Zone<P> zone, TrackedPlayer<P> tracked) {
+        int chunkX = ChunkPos.getPackedX(tracked.chunkKey);
+        int chunkZ = ChunkPos.getPackedZ(tracked.chunkKey);
+        ChunkClass chunkClass = zone.classify(chunkX, chunkZ);
+        boolean inside = switch (chunkClass) {
+            case INSIDE -> true;
+            case OUTSIDE -> false;
+            case BOUNDARY -> {
+                tracked.nearBoundary = true;
+                double dx = view.x(tracked.player) - zone.centerX;
+                double dz = view.z(tracked.player) - zone.centerZ;
+                yield dx * dx + dz * dz < zone.radiusSquared;
+            }
+        };
+        if (inside) {
+            if (zone.members.add(tracked.uuid)) zone.listener.onEnter(tracked.player);
+        } else if (zone.members.remove(tracked.uuid)) {
+            zone.listener.onLeave(tracked.player);
+        }
+    }
+
+    private void detach(TrackedPlayer<P> tracked) {
+        if (tracked.world == null) return;
+        WorldIndex<P> index = worlds.get(tracked.world);
+        if (index != null) {
+            removeFromCell(index, tracked);
+            for (Zone<P> zone : index.zones) {
+                if (zone.members.remove(tracked.uuid)) zone.listener.onLeave(tracked.player);
+            }
+        }
+        tracked.world = null;
+        tracked.chunkKey = Long.MIN_VALUE;
+        tracked.nearBoundary = false;
+    }
+
+    private static <P> void removeFromCell(WorldIndex<P> index, TrackedPlayer<P> tracked) {
+        if (index == null) return;
+        List<TrackedPlayer<P>> cell = index.cells.get(tracked.chunkKey);
+        if (cell == null) return;
+        cell.remove(tracked);
+        if (cell.isEmpty()) index.cells.remove(tracked.chunkKey);
+    }
+
+    private static class WorldIndex<P> {
+        private final Long2ObjectOpenHashMap<List<TrackedPlayer<P>>> cells = new Long2ObjectOpenHashMap<>();
+        private final List<Zone<P>> zones = new ArrayList<>();
+    }
+
+    private static class TrackedPlayer<P> {
+        private final UUID uuid;
+        private P player;
+        private Object world;
+        private long chunkKey = Long.MIN_VALUE;
+        private boolean nearBoundary;
+
+        private TrackedPlayer(UUID uuid, P player) {
+            this.uuid = uuid;
+            this.player = player;
+        }
+    }
+
+    private static class Zone<P> {
+        private final Anchor anchor;
+        private final Object world;
+        private final double radiusSquared;
+        private final Listener<P> listener;
+        private final Set<UUID> members = new HashSet<>();
+        private double centerX;
+        private double centerZ;
+
+        private Zone(Anchor anchor, Object world, double radius, Listener<P> listener) {
+            this.anchor = anchor;
+            this.world = world;
+            this.radiusSquared = radius * radius;
+            this.listener = listener;
+            this.centerX = anchor.x();
+            this.centerZ = anchor.z();
+        }
+
+        /**
+         * @return true if the anchor has moved far enough that every player needs re-evaluating.
+         */
+        private boolean refreshCenter() {
+            double dx = anchor.x() - centerX;
+            double dz = anchor.z() - centerZ;
+            if (dx * dx + dz * dz < 1.0) return false;
+            centerX = anchor.x();
+            centerZ = anchor.z();
+            return true;
+        }
+
+        private ChunkClass classify(int chunkX, int chunkZ) {
+            double minX = chunkX << 4;
+            double minZ = chunkZ << 4;
+            double maxX = minX + 16;
+            double maxZ = minZ + 16;
+            double nearX = Math.max(minX - centerX, Math.max(0, centerX - maxX));
+            double nearZ = Math.max(minZ - centerZ, Math.max(0, centerZ - maxZ));
+            if (nearX * nearX + nearZ * nearZ >= radiusSquared) return ChunkClass.OUTSIDE;
+            double farX = Math.max(Math.abs(centerX - minX), Math.abs(centerX - maxX));
+            double farZ = Math.max(Math.abs(centerZ - minZ), Math.abs(centerZ - maxZ));
+            if (farX * farX + farZ * farZ < radiusSquared) return ChunkClass.INSIDE;
+            return ChunkClass.BOUNDARY;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.CobbleRaids;
+import com.cobbleraids.utils.text.MessageTemplate;
+import net.minecraft.entity.boss.BossBar;
+
+/**
+ * Coalescing front for a raid's boss bar.
+ * <p>
+ * Every change to a {@code ServerBossBar} is sent to every viewer straight away. Damage and countdown updates only
+ * mark this wrapper dirty, and {@link #flush} pushes the result to the real bar at most once per tick. A health change
+ * is dropped if it would not move the bar by at least one of its {@value #BAR_WIDTH_PIXELS} pixels. The title is
+ * only re-rendered when something it actually shows has changed, e.g. the displayed number of seconds.
+ * <p>
+ * {@link #setHealth} and {@link #markTitleDirty} may be called from any thread; everything else belongs to the server thread.
+ */
+public class RaidBossBar {
+    /** Width of the boss bar progress sprite on the client. */
+    public static final int BAR_WIDTH_PIXELS = 182;
+
+    private final BossBar bar;
+    private final MessageTemplate title;
+    private final MessageTemplate.Resolver resolver;
+    private volatile float pendingPercent = 1.0F;
+    private volatile boolean percentDirty;
+    private volatile boolean titleDirty = true;
+    private int shownPixels = -1;
+    private long remainingSeconds;
+
+    /**
+     * @param resolver supplies every placeholder except {@code {time}}, which is filled from {@link #setRemainingSeconds}.
+     */
+    public RaidBossBar(BossBar bar, MessageTemplate title, MessageTemplate.Resolver resolver) {
+        this.bar = bar;
+        this.title = title;
+        this.resolver = (placeholder, out) -> {
+            if (placeholder == MessageTemplate.Placeholder.TIME) {
+                out.append(CobbleRaids.formatTime(remainingSeconds));
+            } else {
+                resolver.append(placeholder, out);
+            }
+        };
+    }
+
+    public BossBar getBar() { return bar; }
+
+    public MessageTemplate getTitle() { return title; }
+
+    public void setHealth(long currentHealth, long maxHealth) {
+        pendingPercent = maxHealth > 0 ? (float) currentHealth / maxHealth : 0.0F;
+        percentDirty = true;
+        if (title.uses(MessageTemplate.Placeholder.HP)) titleDirty = true;
+    }
+
+    public void setRemainingSeconds(long seconds) {
+        if (seconds != remainingSeconds && title.uses(MessageTemplate.Placeholder.TIME)) {
+            remainingSeconds = seconds;
+            titleDirty = true;
+        }
+    }
+
+    /**
+     * Forces the title to be re-rendered on the next flush, for placeholders whose value changed elsewhere.
+     */
+    public void markTitleDirty() {
+        titleDirty = true;
+    }
+
+    /**
+     * Sends whatever changed since the last flush to the underlying bar.
+     */
+    public void flush() {
+        if (percentDirty) {
+            percentDirty = false;
+            float percent = pendingPercent;
+            int pixels = (int) (percent * BAR_WIDTH_PIXELS);
+            if (pixels != shownPixels) {
+                shownPixels = pixels;
+                bar.setPercent(percent);
+            }
+        }
+        if (titleDirty) {
+            titleDirty = false;
+            bar.setName(title.render(resolver));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.cobbleraids.raid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free health pool and lifecycle of a single raid boss.
+ * <p>
+ * Battles can end on any thread, so several clones may faint in the same tick. Health is only ever changed by
+ * compare-and-set and phase changes go through {@link #transition}, so every transition has exactly one winner:
+ * exactly one {@link #applyDamage} call returns {@link Outcome#DEFEATED}, and hits that arrive after the boss
+ * reached zero are rejected instead of being counted.
+ * <p>
+ * Phases only move forward: ACTIVE -> DEFEATED -> CATCH_PHASE -> ENDED, and any phase may skip straight to ENDED
+ * when the raid is torn down.
+ */
+public class RaidHealth {
+
+    public enum Phase { ACTIVE, DEFEATED, CATCH_PHASE, ENDED }
+
+    public record TopDamager(UUID playerUuid, long damage) {}
+
+    public enum Outcome {
+        /** The hit landed and the boss is still standing. */
+        DAMAGED,
+        /** The hit landed and this call is the one that defeated the boss. */
+        DEFEATED,
+        /** The boss was already at zero health or no longer active; nothing was recorded. */
+        REJECTED
+    }
+
+    private final long maxHealth;
+    private final AtomicLong currentHealth;
+    private final AtomicReference<Phase> phase = new AtomicReference<>(Phase.ACTIVE);
+    private final Map<UUID, LongAdder> damagers = new ConcurrentHashMap<>();
+    private final AtomicReference<TopDamager> topDamager = new AtomicReference<>();
+
+    public RaidHealth(long maxHealth) {
+        this.maxHealth = maxHealth;
+        this.currentHealth = new AtomicLong(maxHealth);
+    }
+
+    public long getMaxHealth() { return maxHealth; }
+    public long getCurrentHealth() { return currentHealth.get(); }
+    public Phase getPhase() { return phase.get(); }
+
+    public boolean isDefeated() {
+        return currentHealth.get() <= 0;
+    }
+
+    public Outcome applyDamage(UUID playerUuid, long damage) {
+        long current;
+        long next;
+        do {
+            current = currentHealth.get();
+            if (current <= 0 || phase.get() != Phase.ACTIVE) {
+                return Outcome.REJECTED;
+            }
+            next = Math.max(0, current - damage);
+        } while (!currentHealth.compareAndSet(current, next));
+
+        LongAdder adder = damagers.computeIfAbsent(playerUuid, uuid -> new LongAdder());
+        adder.add(damage);
+        offerTopDamager(playerUuid, adder.sum());
+        if (next > 0) {
+            return Outcome.DAMAGED;
+        }
+        // Only one CAS can take health from positive to zero, but the phase may have been ended concurrently.
+        return transition(Phase.ACTIVE, Phase.DEFEATED) ? Outcome.DEFEATED : Outcome.REJECTED;
+    }
+
+    /**
+     * Moves from {@code expected} to {@code target}.
+     * @return true if this call made the transition, false if another caller did or the raid is in a different phase.
+     */
+    public boolean transition(Phase expected, Phase target) {
+        if (target.ordinal() <= expected.ordinal()) {
+            throw new IllegalArgumentException("Illegal raid phase transition " + expected + " -> " + target);
+        }
+        return phase.compareAndSet(expected, target);
+    }
+
+    /**
+     * Ends the raid from whatever phase it is in.
+     * @return true if this call ended it.
+     */
+    public boolean end() {
+        Phase current;
+        do {
+            current = phase.get();
+            if (current == Phase.ENDED) return false;
+        } while (!phase.compareAndSet(current, Phase.ENDED));
+        return true;
+    }
+
+    /**
+     * @return a point-in-time copy of total damage per player, in no particular order.
+     */
+    public Map<UUID, Long> snapshotDamagers() {
+        Map<UUID, Long> snapshot = new LinkedHashMap<>();
+        damagers.forEach((uuid, adder) -> snapshot.put(uuid, adder.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return the player with the most damage so far, or null before the first hit. Maintained on every hit, so this is O(1).
+     */
+    public TopDamager getTopDamager() {
+        return topDamager.get();
+    }
+
+    private void offerTopDamager(UUID playerUuid, long total) {
+        TopDamager current;
+        do {
+            current = topDamager.get();
+            if (current != null && current.damage() >= total) return;
+        } while (!topDamager.compareAndSet(current, new TopDamager(playerUuid, total)));
+    }
+
+    public long getDamage(UUID playerUuid) {
+        LongAdder adder = damagers.get(playerUuid);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Restores journaled state into a freshly created, still active pool. Must not race with {@link #applyDamage}.
+     */
+    public void restore(long health, Map<UUID, Long> damage) {
+        currentHealth.set(Math.max(0, Math.min(health, maxHealth)));
+        damagers.clear();
+        topDamager.set(null);
+        damage.forEach((uuid, amount) -> {
+            damagers.computeIfAbsent(uuid, u -> new LongAdder()).add(amount);
+            offerTopDamager(uuid, amount);
+        });
+        if (currentHealth.get() <= 0) {
+            transition(Phase.ACTIVE, Phase.DEFEATED);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.utils.metrics.MetricsRegistry;
+
+/**
+ * The metrics CobbleRaids records. Gauges that read live state are registered by their owners through {@link #getRegistry()}.
+ */
+public class RaidMetrics {
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    public final MetricsRegistry.Histogram tickDuration = registry.histogram("cobbleraids_tick_duration_seconds",
+            "Time spent in RaidManager.tick per server tick.", MetricsRegistry.latencyBucketsNanos(), 1e-9);
+    public final MetricsRegistry.Histogram cloneSpawnLatency = registry.histogram("cobbleraids_clone_spawn_seconds",
+            "Time to prepare and send out a boss clone when a raid battle starts.", MetricsRegistry.latencyBucketsNanos(), 1e-9);
+    public final MetricsRegistry.Counter battleIntercepts = registry.counter("cobbleraids_battle_intercepts_total",
+            "Battles against a raid boss intercepted and redirected to a clone battle.");
+    public final MetricsRegistry.Counter damageEvents = registry.counter("cobbleraids_damage_events_total",
+            "Raid clone defeats that damaged a boss.");
+    public final MetricsRegistry.Counter damageRejected = registry.counter("cobbleraids_damage_rejected_total",
+            "Raid clone defeats that arrived after the boss was already defeated.");
+    public final MetricsRegistry.Counter raidsStarted = registry.counter("cobbleraids_raids_started_total",
+            "Raids created.");
+    public final MetricsRegistry.Counter raidsDefeated = registry.counter("cobbleraids_raids_defeated_total",
+            "Raid bosses defeated.");
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+}
@@ -0,0 +1,172 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.CobbleRaids;
+import com.cobbleraids.utils.profiler.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * On-demand profiler for the raid subsystems, driven by {@code /raid profile start|stop|dump}.
+ * <p>
+ * Call sites wrap their work in {@link #begin()} and {@code end(...)}. While the profiler is off, {@code begin}
+ * returns 0 after a single volatile read and {@code end} returns straight away, so the hooks can stay in hot paths.
+ * While it is on, every sample goes into a fixed-size {@link LatencyHistogram}, both per phase and per raid and phase.
+ */
+public class RaidProfiler {
+
+    public enum Phase {
+        RAID_LOOP("Raid loop"),
+        PROXIMITY("Proximity"),
+        PARTICLES("Particles"),
+        SCHEDULER("Timer callbacks"),
+        BOSS_GOALS("Boss goals"),
+        BATTLE_EVENTS("Battle listeners"),
+        SPAWN_ATTEMPT("Spawn attempts");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private volatile boolean enabled;
+    private long startedNanos;
+    private long stoppedNanos;
+    private final EnumMap<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private final Map<UUID, RaidSamples> raids = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears previous samples and starts recording.
+     * @return false if it was already running.
+     */
+    public synchronized boolean start() {
+        if (enabled) return false;
+        phases.clear();
+        raids.clear();
+        startedNanos = System.nanoTime();
+        enabled = true;
+        return true;
+    }
+
+    /**
+     * @return false if it was not running.
+     */
+    public synchronized boolean stop() {
+        if (!enabled) return false;
+        enabled = false;
+        stoppedNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * @return a start timestamp to pass to {@code end}, or 0 when the profiler is off.
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void end(Phase phase, long start) {
+        if (start == 0L) return;
+        record(phase, null, System.nanoTime() - start);
+    }
+
+    public void end(Phase phase, CobbleRaids.Raid raid, long start) {
+        if (start == 0L) return;
+        record(phase, raid, System.nanoTime() - start);
+    }
+
+    private synchronized void record(Phase phase, CobbleRaids.Raid raid, long nanos) {
+        if (!enabled) return;
+        phases.computeIfAbsent(phase, p -> new LatencyHistogram()).record(nanos);
+        if (raid != null) {
+            RaidSamples samples = raids.computeIfAbsent(raid.getBossUuid(),
+                    uuid -> new RaidSamples(raid.getBossEntity().getPokemon().getSpecies().getName() + " " + uuid.toString().substring(0, 8)));
+            samples.phases.computeIfAbsent(phase, p -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Writes the full report to a new file in {@code directory}.
+     * @return the report file.
+     */
+    public Path writeReport(Path directory) throws IOException {
+        List<String> report = buildReport();
+        Files.createDirectories(directory);
+        Path file = directory.resolve("raid-profile-" + LocalDateTime.now().format(FILE_TIME) + ".txt");
+        Files.write(file, report, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * @return one summary line per phase, for chat.
+     */
+    public synchronized List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Phase, LatencyHistogram> entry : phases.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            lines.add(String.format(Locale.ROOT, "%s: p50 %s, p99 %s, max %s (%d samples)", entry.getKey().label,
+                    formatNanos(histogram.getPercentile(0.50)), formatNanos(histogram.getPercentile(0.99)),
+                    formatNanos(histogram.getMax()), histogram.getCount()));
+        }
+        return lines;
+    }
+
+    private synchronized List<String> buildReport() {
+        long end = enabled ? System.nanoTime() : stoppedNanos;
+        Duration duration = Duration.ofNanos(Math.max(0, end - startedNanos));
+        List<String> lines = new ArrayList<>();
+        lines.add("CobbleRaids raid profile");
+        lines.add("Written: " + LocalDateTime.now());
+        lines.add(String.format(Locale.ROOT, "Duration: %.1fs%s", duration.toMillis() / 1000.0, enabled ? " (still running)" : ""));
+        lines.add("");
+        lines.add("== Per phase ==");
+        appendTable(lines, phases);
+        for (RaidSamples samples : raids.values()) {
+            lines.add("");
+            lines.add("== Raid " + samples.label + " ==");
+            appendTable(lines, samples.phases);
+        }
+        return lines;
+    }
+
+    private static void appendTable(List<String> lines, EnumMap<Phase, LatencyHistogram> histograms) {
+        lines.add(String.format(Locale.ROOT, "%-18s %10s %12s %10s %10s %10s %10s", "phase", "samples", "total", "mean", "p50", "p99", "max"));
+        for (Map.Entry<Phase, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            lines.add(String.format(Locale.ROOT, "%-18s %10d %12s %10s %10s %10s %10s", entry.getKey().label, histogram.getCount(),
+                    formatNanos(histogram.getTotal()), formatNanos(histogram.getMean()),
+                    formatNanos(histogram.getPercentile(0.50)), formatNanos(histogram.getPercentile(0.99)),
+                    formatNanos(histogram.getMax())));
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format(Locale.ROOT, "%.1fus", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static class RaidSamples {
+        private final String label;
+        private final EnumMap<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+
+        private RaidSamples(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.utils.text.MessageTemplate;
+import net.minecraft.entity.boss.BossBar;
+
+import java.util.UUID;
+
+/**
+ * The part of a raid that does not need the boss entity or any players: its health pool, boss bar and despawn
+ * countdown. {@code CobbleRaids.Raid} wraps one around its boss, and the JMH benchmarks drive it directly, so both
+ * run the same code.
+ * <p>
+ * {@link #applyDamage} may be called from any thread, like {@link RaidHealth#applyDamage}; the countdown and
+ * {@link #flushBossBar} belong to the server thread.
+ */
+public class RaidProgress {
+    private final RaidHealth health;
+    private final RaidBossBar bossBar;
+    private final long creationTick;
+    private final long despawnTimeSeconds;
+    private volatile UUID lastAttacker;
+
+    /**
+     * Nothing is sent, and {@code resolver} is not called, until the first {@link #flushBossBar()}.
+     * @param resolver supplies the title placeholders the raid owns; see {@link RaidBossBar}.
+     */
+    public RaidProgress(long maxHealth, long despawnTimeSeconds, long creationTick, BossBar bar, MessageTemplate title,
+                        MessageTemplate.Resolver resolver) {
+        this.health = new RaidHealth(maxHealth);
+        this.despawnTimeSeconds = despawnTimeSeconds;
+        this.creationTick = creationTick;
+        this.bossBar = new RaidBossBar(bar, title, resolver);
+        updateBossBar();
+        bossBar.setRemainingSeconds(despawnTimeSeconds);
+    }
+
+    public RaidHealth getHealth() { return health; }
+    public RaidBossBar getBossBar() { return bossBar; }
+    public long getCreationTick() { return creationTick; }
+    public long getDespawnTimeSeconds() { return despawnTimeSeconds; }
+    public UUID getLastAttacker() { return lastAttacker; }
+
+    /**
+     * Applies a win's worth of damage and marks whatever it changed on the boss bar.
+     * @return {@link RaidHealth.Outcome#DEFEATED} for exactly one caller per raid.
+     */
+    public RaidHealth.Outcome applyDamage(UUID playerUuid, long damage) {
+        RaidHealth.TopDamager topBefore = health.getTopDamager();
+        RaidHealth.Outcome outcome = health.applyDamage(playerUuid, damage);
+        if (outcome == RaidHealth.Outcome.REJECTED) return outcome;
+        this.lastAttacker = playerUuid;
+        updateBossBar();
+        RaidHealth.TopDamager topAfter = health.getTopDamager();
+        if (topBefore == null || !topBefore.playerUuid().equals(topAfter.playerUuid())) {
+            if (bossBar.getTitle().uses(MessageTemplate.Placeholder.TOP_DAMAGER)) bossBar.markTitleDirty();
+        }
+        return outcome;
+    }
+
+    /**
+     * Marks the health bar dirty; the change reaches players on the next {@link #flushBossBar()}.
+     */
+    public void updateBossBar() {
+        bossBar.setHealth(health.getCurrentHealth(), health.getMaxHealth());
+    }
+
+    /**
+     * Brings the countdown on the boss bar up to {@code currentTick}.
+     * @return false once the despawn time has run out; always true for bosses that never despawn.
+     */
+    public boolean updateCountdown(long currentTick) {
+        if (despawnTimeSeconds <= 0) return true;
+        long remainingSeconds = despawnTimeSeconds - (currentTick - creationTick) / 20;
+        if (remainingSeconds <= 0) return false;
+        bossBar.setRemainingSeconds(remainingSeconds);
+        return true;
+    }
+
+    /**
+     * Sends pending boss bar changes to viewers. Called once per tick from the server thread.
+     */
+    public void flushBossBar() {
+        bossBar.flush();
+    }
+}
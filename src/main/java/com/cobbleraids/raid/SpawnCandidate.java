@@ -0,0 +1,64 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.config.BossCatalog;
+import com.cobbleraids.config.RaidBossConfig;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The part of a configured boss that natural spawning picks from, resolved from the boss catalog index alone.
+ * The full definition is only needed once a candidate is actually chosen, as a {@link BossBlueprint}.
+ *
+ * @param id the boss's catalog id, i.e. its file name without extension.
+ * @param name the species string as written in the config, used in messages.
+ */
+public record SpawnCandidate(String id, String name, double spawnChance, TimeOfDay timeOfDay, int minOnlinePlayers,
+                             List<SpawnLocation> spawnPoints) {
+
+    public enum TimeOfDay {
+        ANY, DAY, NIGHT;
+
+        public boolean allows(boolean day) {
+            return this == ANY || (this == DAY) == day;
+        }
+    }
+
+    public record SpawnLocation(RegistryKey<World> dimension, Vec3d pos) {}
+
+    /**
+     * @param worlds the dimensions that exist on the server; spawn points in any other dimension are rejected.
+     * @throws IllegalArgumentException describing the first problem found.
+     */
+    public static SpawnCandidate resolve(BossCatalog.IndexEntry entry, Set<RegistryKey<World>> worlds) {
+        List<SpawnLocation> spawnPoints = new ArrayList<>();
+        if (entry.spawnPoints() != null) {
+            for (RaidBossConfig.SpawnPoint point : entry.spawnPoints()) {
+                Identifier id = point.dimension == null ? null : Identifier.tryParse(point.dimension);
+                RegistryKey<World> dimension = id == null ? null : RegistryKey.of(RegistryKeys.WORLD, id);
+                if (dimension == null || !worlds.contains(dimension)) {
+                    throw new IllegalArgumentException("unknown dimension '" + point.dimension + "'");
+                }
+                spawnPoints.add(new SpawnLocation(dimension, new Vec3d(point.x, point.y, point.z)));
+            }
+        }
+        return new SpawnCandidate(entry.id(), entry.species(), Math.max(0, entry.spawnChance()),
+                parseTimeOfDay(entry.timeOfDay()), Math.max(0, entry.minOnlinePlayers()), List.copyOf(spawnPoints));
+    }
+
+    private static TimeOfDay parseTimeOfDay(String value) {
+        if (value == null || value.isBlank()) return TimeOfDay.ANY;
+        try {
+            return TimeOfDay.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("timeOfDay must be any, day or night, was '" + value + "'");
+        }
+    }
+}
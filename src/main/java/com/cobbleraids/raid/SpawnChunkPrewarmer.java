@@ -0,0 +1,97 @@
+package com.cobbleraids.raid;
+
+import com.cobbleraids.utils.scheduler.TickScheduler;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Loads the chunk of the next natural raid spawn ahead of time, so the spawn never waits on a chunk load.
+ * <p>
+ * When a spawn is decided, a ticket is added for its chunk and the chunk manager loads it in the background. Once the
+ * lead time has passed, the chunk is polled until entities in it are ticked, and only then is the spawn run. If that
+ * does not happen within {@value #TIMEOUT_TICKS} ticks the spawn is dropped. Only one spawn is pending at a time.
+ * <p>
+ * Not thread-safe; driven from the server tick through the raid {@link TickScheduler}.
+ */
+public class SpawnChunkPrewarmer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpawnChunkPrewarmer.class);
+
+    /** Tickets of this type never expire on their own; they are removed when the spawn runs or is dropped. */
+    public static final ChunkTicketType<ChunkPos> RAID_SPAWN = ChunkTicketType.create("cobbleraids_spawn", Comparator.comparingLong(ChunkPos::toLong));
+    /** Ticket level 31, the highest level at which entities in the chunk still tick. */
+    private static final int TICKET_RADIUS = 2;
+    private static final int POLL_INTERVAL_TICKS = 5;
+    private static final long TIMEOUT_TICKS = 60 * 20;
+
+    private final TickScheduler scheduler;
+    @Nullable
+    private Pending pending;
+
+    public SpawnChunkPrewarmer(TickScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public boolean isPending() {
+        return pending != null;
+    }
+
+    /**
+     * Starts loading the chunk at {@code pos} and runs {@code spawn} once {@code leadTicks} have passed and the chunk
+     * ticks entities.
+     * @return false if another spawn is already pending.
+     */
+    public boolean prewarm(ServerWorld world, Vec3d pos, long leadTicks, Consumer<ServerWorld> spawn) {
+        if (pending != null) return false;
+        BlockPos blockPos = BlockPos.ofFloored(pos);
+        ChunkPos chunkPos = new ChunkPos(blockPos);
+        world.getChunkManager().addTicket(RAID_SPAWN, chunkPos, TICKET_RADIUS, chunkPos);
+
+        Pending next = new Pending(world, chunkPos);
+        long deadline = scheduler.getCurrentTick() + leadTicks + TIMEOUT_TICKS;
+        next.task = scheduler.scheduleRepeating(null, Math.max(0, leadTicks), POLL_INTERVAL_TICKS, task -> {
+            if (world.shouldTickEntity(blockPos)) {
+                finish();
+                spawn.accept(world);
+            } else if (scheduler.getCurrentTick() >= deadline) {
+                LOGGER.warn("Dropped a raid spawn: chunk {} in {} did not load within {} ticks.", chunkPos, world.getRegistryKey().getValue(), TIMEOUT_TICKS);
+                finish();
+            }
+        });
+        pending = next;
+        return true;
+    }
+
+    /**
+     * Drops the pending spawn, if any, and releases its chunk.
+     */
+    public void clear() {
+        finish();
+    }
+
+    private void finish() {
+        if (pending == null) return;
+        pending.task.cancel();
+        pending.world.getChunkManager().removeTicket(RAID_SPAWN, pending.chunkPos, TICKET_RADIUS, pending.chunkPos);
+        pending = null;
+    }
+
+    private static class Pending {
+        private final ServerWorld world;
+        private final ChunkPos chunkPos;
+        private TickScheduler.ScheduledTask task;
+
+        private Pending(ServerWorld world, ChunkPos chunkPos) {
+            this.world = world;
+            this.chunkPos = chunkPos;
+        }
+    }
+}
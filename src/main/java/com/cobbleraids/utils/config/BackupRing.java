@@ -0,0 +1,188 @@
+package com.cobbleraids.utils.config;
+
+import com.cobbleraids.utils.io.AtomicFiles;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A fixed number of gzip-compressed backups of one config file, kept as a ring.
+ * <p>
+ * {@code index.json} in the backup directory records which file sits in which slot, with its reason, time and
+ * {@link ContentHash}. A new backup goes into the next slot, replacing the file that was there, so pruning never
+ * lists the directory. Content identical to a backup still in the ring is not stored again. Backups are named
+ * {@code <config>_<reason>_<timestamp>.jsonc.gz} and can be read with any gzip tool.
+ * <p>
+ * Uncompressed {@code .jsonc.bak} backups written before the ring existed are adopted into it the first time a ring
+ * is opened without an index: the newest are compressed into slots and the rest deleted, as the old pruning would have.
+ */
+final class BackupRing {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackupRing.class);
+    private static final String INDEX_FILE = "index.json";
+    private static final int INDEX_VERSION = 1;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final String LEGACY_EXTENSION = ".jsonc.bak";
+    private static final int TIMESTAMP_LENGTH = "yyyyMMdd_HHmmss".length();
+
+    record Entry(String file, String reason, long createdMillis, long hash) {}
+
+    private record Index(int version, int next, Entry[] slots) {}
+
+    private final Path directory;
+    private final String configId;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private Entry[] slots;
+    private int next;
+
+    BackupRing(Path directory, String configId, int capacity) {
+        this.directory = directory;
+        this.configId = configId;
+        this.slots = new Entry[capacity];
+        if (!readIndex()) adoptLegacyBackups();
+    }
+
+    /**
+     * Backs up {@code source}.
+     * @return the backup holding its content, which is an existing one if the content was already backed up.
+     */
+    synchronized Path create(Path source, String reason) throws IOException {
+        byte[] content = Files.readAllBytes(source);
+        long hash = ContentHash.of(new String(content, StandardCharsets.UTF_8));
+        for (Entry entry : slots) {
+            if (entry != null && entry.hash() == hash && Files.exists(directory.resolve(entry.file()))) {
+                LOGGER.info("Config '{}' is identical to its backup {}; not storing it again.", configId, entry.file());
+                return directory.resolve(entry.file());
+            }
+        }
+
+        String base = String.format("%s_%s_%s", configId, reason, TIMESTAMP.format(LocalDateTime.now()));
+        String name = base + ".jsonc.gz";
+        for (int n = 2; Files.exists(directory.resolve(name)); n++) {
+            name = base + "_" + n + ".jsonc.gz";
+        }
+        Path file = directory.resolve(name);
+        AtomicFiles.write(file, gzip(content));
+
+        int slot = next;
+        Entry replaced = slots[slot];
+        slots[slot] = new Entry(name, reason, System.currentTimeMillis(), hash);
+        next = (slot + 1) % slots.length;
+        writeIndex();
+        if (replaced != null) {
+            Files.deleteIfExists(directory.resolve(replaced.file()));
+        }
+        return file;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return false if there is no index yet.
+     */
+    private boolean readIndex() {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) return false;
+        try {
+            Index stored = gson.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), Index.class);
+            if (stored == null || stored.version() != INDEX_VERSION || stored.slots() == null) return true;
+            // Capacity may have changed since the index was written; keep the slots that still fit.
+            slots = Arrays.copyOf(stored.slots(), slots.length);
+            next = Math.floorMod(stored.next(), slots.length);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Ignoring unreadable backup index for '{}'; starting a new ring. Reason: {}", configId, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Compresses the newest {@code <config>_*.jsonc.bak} files into the ring, oldest first so the oldest is replaced
+     * first, and deletes the rest along with any that repeat content already adopted.
+     */
+    private void adoptLegacyBackups() {
+        if (!Files.isDirectory(directory)) return;
+        String prefix = configId + "_";
+        List<Path> legacy;
+        try (Stream<Path> stream = Files.list(directory)) {
+            legacy = stream.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(LEGACY_EXTENSION);
+            }).sorted(Comparator.comparing(BackupRing::modifiedMillis).reversed()).toList();
+        } catch (IOException e) {
+            LOGGER.warn("Could not list old backups for '{}': {}", configId, e.getMessage());
+            return;
+        }
+        if (legacy.isEmpty()) return;
+
+        List<Entry> adopted = new ArrayList<>();
+        Set<Long> hashes = new HashSet<>();
+        int deleted = 0;
+        for (Path file : legacy) {
+            try {
+                byte[] content = Files.readAllBytes(file);
+                long hash = ContentHash.of(new String(content, StandardCharsets.UTF_8));
+                if (adopted.size() < slots.length && hashes.add(hash)) {
+                    String name = file.getFileName().toString();
+                    String base = name.substring(0, name.length() - LEGACY_EXTENSION.length());
+                    AtomicFiles.write(directory.resolve(base + ".jsonc.gz"), gzip(content));
+                    adopted.add(new Entry(base + ".jsonc.gz", legacyReason(base.substring(prefix.length())), modifiedMillis(file), hash));
+                } else {
+                    deleted++;
+                }
+                Files.delete(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not adopt old backup {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+
+        Collections.reverse(adopted);
+        for (int i = 0; i < adopted.size(); i++) {
+            slots[i] = adopted.get(i);
+        }
+        next = adopted.size() % slots.length;
+        try {
+            writeIndex();
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the backup index for '{}': {}", configId, e.getMessage());
+        }
+        LOGGER.info("Adopted {} old backup(s) of '{}' into the backup ring and deleted {}.", adopted.size(), configId, deleted);
+    }
+
+    /**
+     * @param rest what follows {@code <config>_} in an old backup name: {@code <reason>_<timestamp>}.
+     */
+    private static String legacyReason(String rest) {
+        int end = rest.length() - TIMESTAMP_LENGTH - 1;
+        return end > 0 && rest.charAt(end) == '_' ? rest.substring(0, end) : "legacy";
+    }
+
+    private static long modifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        AtomicFiles.write(directory.resolve(INDEX_FILE), gson.toJson(new Index(INDEX_VERSION, next, slots)).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,180 @@
+package com.cobbleraids.utils.config;
+
+import com.cobbleraids.utils.io.AtomicFiles;
+import com.google.gson.*;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Binary snapshot of a validated config, so a restart with an unchanged config file skips JSONC parsing, migration
+ * and merging.
+ * <p>
+ * The snapshot is keyed by the size, modification time and {@link ContentHash} of the source file it was taken from,
+ * plus the config version. It holds the config's JSON tree in a compact tagged form and is read back with one bulk
+ * read into a heap buffer. It is deliberately not memory-mapped: a mapping stays live until it is garbage collected,
+ * and on Windows that would keep the snapshot from being replaced. Any problem reading it simply means the source
+ * file is parsed as usual.
+ */
+final class ConfigCache {
+    private static final int MAGIC = 0x43524343; // "CRCC"
+    private static final byte FORMAT = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte NUMBER = 3;
+    private static final byte STRING = 4;
+    private static final byte ARRAY = 5;
+    private static final byte OBJECT = 6;
+
+    record Key(long size, long modifiedMillis, long contentHash, String version) {}
+
+    record Snapshot(Key key, JsonElement tree) {}
+
+    private final Path file;
+
+    ConfigCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the snapshot, or null if there is none or it cannot be read.
+     */
+    @Nullable
+    Snapshot read() {
+        if (!Files.exists(file)) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) return null;
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return null;
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC || buffer.get() != FORMAT) return null;
+            Key key = new Key(buffer.getLong(), buffer.getLong(), buffer.getLong(), readString(buffer));
+            JsonElement tree = readElement(buffer);
+            return buffer.hasRemaining() ? null : new Snapshot(key, tree);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Synchronized because concurrent writes would share a temp file.
+     */
+    synchronized void write(Key key, JsonElement tree) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT);
+        out.writeLong(key.size());
+        out.writeLong(key.modifiedMillis());
+        out.writeLong(key.contentHash());
+        writeString(out, key.version());
+        writeElement(out, tree);
+        out.flush();
+        AtomicFiles.write(file, bytes.toByteArray());
+    }
+
+    private static void writeElement(DataOutputStream out, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            out.writeByte(NULL);
+        } else if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (primitive.isNumber()) {
+                // Kept in text form so every number type round-trips exactly.
+                out.writeByte(NUMBER);
+                writeString(out, primitive.getAsString());
+            } else {
+                out.writeByte(STRING);
+                writeString(out, primitive.getAsString());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.writeByte(ARRAY);
+            out.writeInt(array.size());
+            for (JsonElement child : array) {
+                writeElement(out, child);
+            }
+        } else {
+            JsonObject object = element.getAsJsonObject();
+            out.writeByte(OBJECT);
+            out.writeInt(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(out, entry.getKey());
+                writeElement(out, entry.getValue());
+            }
+        }
+    }
+
+    private static JsonElement readElement(ByteBuffer in) {
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                return JsonNull.INSTANCE;
+            case TRUE:
+                return new JsonPrimitive(true);
+            case FALSE:
+                return new JsonPrimitive(false);
+            case NUMBER:
+                return new JsonPrimitive(new LazilyParsedNumber(readString(in)));
+            case STRING:
+                return new JsonPrimitive(readString(in));
+            case ARRAY: {
+                int size = readCount(in);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readElement(in));
+                }
+                return array;
+            }
+            case OBJECT: {
+                int size = readCount(in);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String name = readString(in);
+                    object.add(name, readElement(in));
+                }
+                return object;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown tag " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readCount(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length and checks it against what is left, so a damaged snapshot cannot cause a huge allocation.
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) throw new IllegalArgumentException("Bad length " + count);
+        return count;
+    }
+}
@@ -3,4 +3,10 @@ package com.cobbleraids.utils.config;
 public interface ConfigData {
     String getVersion();
     String getConfigId();
+
+    /**
+     * Called by {@link ConfigManager} on the loading thread before the config is published to {@code getConfig()} and
+     * the reload listeners. Derived state (compiled templates, lookups) should be built here rather than on first use.
+     */
+    default void onLoaded() {}
 }
\ No newline at end of file
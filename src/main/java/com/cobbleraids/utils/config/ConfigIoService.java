@@ -0,0 +1,222 @@
+package com.cobbleraids.utils.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Process-wide I/O for every {@link ConfigManager}: a single {@link WatchService} with one watcher thread, and a
+ * small shared executor for reloads, saves and backups.
+ * <p>
+ * Managers register the files they care about and are called back for events on exactly those files, whichever
+ * directory they live in. Registrations and repeating tasks outlive {@link #shutdown()}, so the service can be
+ * stopped with the server and {@link #start() started} again for the next one (e.g. when switching singleplayer
+ * worlds) without the managers noticing.
+ * <p>
+ * The service starts itself the first time it is used, but once shut down only an explicit {@link #start()} brings it
+ * back: until then the executor rejects new work and registrations wait for the next start.
+ */
+public final class ConfigIoService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigIoService.class);
+    private static final ConfigIoService INSTANCE = new ConfigIoService();
+    private static final int IO_THREADS = 2;
+
+    private final Map<Path, List<Runnable>> fileListeners = new ConcurrentHashMap<>();
+    private final Map<Path, List<BiConsumer<Path, WatchEvent.Kind<?>>>> directoryListeners = new ConcurrentHashMap<>();
+    private final Map<Runnable, Long> repeatingTasks = new LinkedHashMap<>();
+    private final Map<Runnable, ScheduledFuture<?>> scheduledRepeats = new HashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    private ScheduledThreadPoolExecutor executor;
+    private WatchService watchService;
+
+    private ConfigIoService() {}
+
+    public static ConfigIoService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts the executor and the watcher, if they are not running, and re-registers every watched file.
+     */
+    public synchronized void start() {
+        if (executor != null && !executor.isShutdown()) return;
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(IO_THREADS, r -> {
+            Thread t = new Thread(r, "CobbleRaids-ConfigIO-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        // Debounced reloads still waiting at shutdown are dropped; saves already queued still run.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            watchService = service;
+            for (Path file : fileListeners.keySet()) {
+                registerDirectory(file.getParent());
+            }
+            for (Path directory : directoryListeners.keySet()) {
+                registerDirectory(directory);
+            }
+            Thread watcherThread = new Thread(() -> runWatcher(service), "CobbleRaids-ConfigWatcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        } catch (IOException e) {
+            LOGGER.error("Could not start the config file watcher: {}", e.getMessage());
+            watchService = null;
+        }
+
+        repeatingTasks.forEach(this::schedule);
+    }
+
+    /**
+     * @return the shared executor, starting the service if it has never run. Tasks must not block for long. After
+     * {@link #shutdown()} this is the stopped executor, which throws {@link RejectedExecutionException} for new work.
+     */
+    public synchronized ScheduledExecutorService executor() {
+        startOnFirstUse();
+        return executor;
+    }
+
+    /**
+     * Calls {@code listener} on the watcher thread for every create or modify event on {@code file}.
+     */
+    public synchronized void watch(Path file, Runnable listener) {
+        Path key = file.toAbsolutePath().normalize();
+        fileListeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(listener);
+        startOnFirstUse();
+        if (watchService != null) registerDirectory(key.getParent());
+    }
+
+    /**
+     * Calls {@code listener} on the watcher thread with the file and kind of every create, modify or delete event in
+     * {@code directory}. Subdirectories are not watched.
+     */
+    public synchronized void watchDirectory(Path directory, BiConsumer<Path, WatchEvent.Kind<?>> listener) {
+        Path key = directory.toAbsolutePath().normalize();
+        directoryListeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(listener);
+        startOnFirstUse();
+        if (watchService != null) registerDirectory(key);
+    }
+
+    public synchronized void unwatch(Path file, Runnable listener) {
+        Path key = file.toAbsolutePath().normalize();
+        List<Runnable> listeners = fileListeners.get(key);
+        if (listeners == null) return;
+        listeners.remove(listener);
+        if (listeners.isEmpty()) fileListeners.remove(key);
+    }
+
+    public synchronized void unwatchDirectory(Path directory, BiConsumer<Path, WatchEvent.Kind<?>> listener) {
+        Path key = directory.toAbsolutePath().normalize();
+        List<BiConsumer<Path, WatchEvent.Kind<?>>> listeners = directoryListeners.get(key);
+        if (listeners == null) return;
+        listeners.remove(listener);
+        if (listeners.isEmpty()) directoryListeners.remove(key);
+    }
+
+    /**
+     * Runs {@code task} every {@code intervalMs} on the shared executor while the service runs, including after restarts.
+     */
+    public synchronized void scheduleRepeating(Runnable task, long intervalMs) {
+        cancelRepeating(task);
+        repeatingTasks.put(task, intervalMs);
+        startOnFirstUse();
+        if (!executor.isShutdown()) schedule(task, intervalMs);
+    }
+
+    public synchronized void cancelRepeating(Runnable task) {
+        repeatingTasks.remove(task);
+        ScheduledFuture<?> future = scheduledRepeats.remove(task);
+        if (future != null) future.cancel(false);
+    }
+
+    /**
+     * Stops the watcher and lets queued work finish, waiting up to five seconds. The wait happens outside the
+     * service's lock, so queued tasks can still call into it while they drain.
+     */
+    public void shutdown() {
+        ScheduledThreadPoolExecutor stopping;
+        synchronized (this) {
+            if (executor == null || executor.isShutdown()) return;
+            try {
+                if (watchService != null) watchService.close();
+            } catch (IOException e) {
+                LOGGER.error("Error while closing the config file watcher: {}", e.getMessage());
+            }
+            watchService = null;
+            watchedDirectories.clear();
+            scheduledRepeats.clear();
+            stopping = executor;
+            stopping.shutdown();
+        }
+
+        try {
+            if (!stopping.awaitTermination(5, TimeUnit.SECONDS)) stopping.shutdownNow();
+        } catch (InterruptedException e) {
+            stopping.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Config I/O service stopped.");
+    }
+
+    private void startOnFirstUse() {
+        if (executor == null) start();
+    }
+
+    private void schedule(Runnable task, long intervalMs) {
+        scheduledRepeats.put(task, executor.scheduleAtFixedRate(task, intervalMs, intervalMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void registerDirectory(Path directory) {
+        if (watchedDirectories.containsKey(directory)) return;
+        try {
+            WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirectories.put(directory, key);
+        } catch (IOException e) {
+            LOGGER.error("Could not watch config directory '{}': {}", directory, e.getMessage());
+        }
+    }
+
+    private static void notify(Path name, Runnable listener) {
+        try {
+            listener.run();
+        } catch (Exception e) {
+            LOGGER.error("Config watch listener for '{}' failed", name, e);
+        }
+    }
+
+    private void runWatcher(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path name)) continue;
+                    Path file = directory.resolve(name);
+                    List<BiConsumer<Path, WatchEvent.Kind<?>>> inDirectory = directoryListeners.get(directory);
+                    if (inDirectory != null) {
+                        for (BiConsumer<Path, WatchEvent.Kind<?>> listener : inDirectory) {
+                            notify(name, () -> listener.accept(file, event.kind()));
+                        }
+                    }
+                    List<Runnable> listeners = fileListeners.get(file);
+                    if (listeners != null && event.kind() != StandardWatchEventKinds.ENTRY_DELETE) {
+                        listeners.forEach(listener -> notify(name, listener));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.debug("Config file watcher stopped.");
+        }
+    }
+}
@@ -1,41 +1,46 @@
 package com.cobbleraids.utils.config;
 
 import com.google.gson.*;
-import com.google.gson.stream.JsonReader;
+import com.cobbleraids.utils.io.AtomicFiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 /**
  * Manages the lifecycle of a configuration file, including loading, saving,
  * automatic backups, and live-reloading from disk. It handles JSON format with comments in the file header/footer.
+ * <p>
+ * Every validated config is also kept as a binary {@link ConfigCache} snapshot next to the file. On startup, if the
+ * file still has the size and modification time (or failing that, the content hash) the snapshot was taken from, the
+ * config comes from the snapshot and the JSONC is never parsed. Snapshots are rewritten on the config I/O executor.
  *
  * @param <T> The class representing the structure of the configuration data.
  */
 public class ConfigManager<T extends ConfigData> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigManager.class);
+    private static final int MAX_BACKUPS = 20;
     private final String currentVersion;
     private final T defaultConfig;
     private final Class<T> configClass;
     private final Path configFile;
     private final Path backupDir;
+    private final ConfigCache cache;
+    private final BackupRing backups;
     private final ConfigMetadata metadata;
     private final Gson gson = new GsonBuilder()
             .setPrettyPrinting()
@@ -43,10 +48,26 @@ public class ConfigManager<T extends ConfigData> {
             .serializeNulls()
             .create();
     private final AtomicReference<T> configData;
-    private final AtomicInteger lastSavedHash;
+    /** {@link ContentHash} of the config as last written to or read from disk. */
+    private final AtomicLong lastSavedHash;
+    /** {@link ContentHash} of the raw file text last written or read, so an unchanged file is not parsed again. */
+    private volatile long lastFileHash;
     private final AtomicBoolean hasUnsavedChanges = new AtomicBoolean(false);
-    private final ScheduledExecutorService executor;
-    private WatchService watchService;
+    private final List<Consumer<T>> reloadListeners = new CopyOnWriteArrayList<>();
+    private final ConfigIoService io = ConfigIoService.getInstance();
+    private final Runnable watchListener = this::onFileChanged;
+    private final Runnable autoSaveTask = this::save;
+    private final Object reloadLock = new Object();
+    private ScheduledFuture<?> pendingReload;
+    /** Size and modification time of our own last write; watcher events that still match it are dropped. */
+    private volatile FileStamp lastWrite;
+
+    private record FileStamp(long size, FileTime modified) {
+        static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime());
+        }
+    }
 
     public ConfigManager(String currentVersion, T defaultConfig, Class<T> configClass, Path configDir, ConfigMetadata metadata) {
         this.currentVersion = currentVersion;
@@ -55,15 +76,11 @@ public class ConfigManager<T extends ConfigData> {
         this.metadata = metadata;
         this.configFile = configDir.resolve("config.jsonc");
         this.backupDir = configDir.resolve("backups");
-
-        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "ConfigManager-" + this.defaultConfig.getConfigId());
-            t.setDaemon(true);
-            return t;
-        });
+        this.cache = new ConfigCache(configDir.resolve("config.jsonc.bin"));
+        this.backups = new BackupRing(backupDir, defaultConfig.getConfigId(), MAX_BACKUPS);
 
         this.configData = new AtomicReference<>(defaultConfig);
-        this.lastSavedHash = new AtomicInteger(defaultConfig.hashCode());
+        this.lastSavedHash = new AtomicLong(ContentHash.of(gson, defaultConfig));
 
         initialize();
     }
@@ -75,7 +92,7 @@ public class ConfigManager<T extends ConfigData> {
             Files.createDirectories(backupDir);
 
             if (Files.exists(configFile)) {
-                loadConfig();
+                if (!loadFromCache()) loadConfig(false);
             } else {
                 LOGGER.info("No config file found for '{}'. Creating a new one with default values.", defaultConfig.getConfigId());
                 saveConfig(defaultConfig, true);
@@ -94,27 +111,37 @@ public class ConfigManager<T extends ConfigData> {
 
     /**
      * The core logic for loading, migrating, and salvaging the configuration file.
+     * @param force parse and apply the file even if it matches what was last read or written, discarding unsaved
+     *              in-memory changes. The watcher passes false so our own writes and touched files cost one hash.
      * @return true if the config was loaded or salvaged successfully, false if a critical error occurred.
      */
-    private boolean loadConfig() {
+    private boolean loadConfig(boolean force) {
         if (!Files.exists(configFile)) {
             LOGGER.warn("Attempted to load config for '{}', but file does not exist. Using defaults.", defaultConfig.getConfigId());
             return false;
         }
 
-        String content;
+        long fileHash;
+        FileStamp stamp;
         try {
-            content = Files.readString(configFile, StandardCharsets.UTF_8);
+            // Stamped before reading, so a write racing with us leaves a stale stamp rather than a wrong snapshot.
+            stamp = FileStamp.of(configFile);
+            fileHash = hashFile();
         } catch (IOException e) {
-            LOGGER.error("Could not read config file '{}'. Restoring defaults.", configFile, e);
-            createBackup("unreadable");
-            this.configData.set(defaultConfig);
-            saveConfig(defaultConfig, true);
-            return false;
+            return restoreUnreadable(e);
+        }
+
+        // Also catches the watcher event for our own writes.
+        if (!force && fileHash == lastFileHash) {
+            LOGGER.debug("Config file for '{}' is unchanged. Skipping reload.", defaultConfig.getConfigId());
+            return true;
         }
 
         try {
-            T loadedConfig = gson.fromJson(content, configClass);
+            T loadedConfig;
+            try (JsoncReader in = JsoncReader.open(configFile)) {
+                loadedConfig = gson.fromJson(in, configClass);
+            }
 
             if (loadedConfig == null) {
                 throw new JsonParseException("File is empty or contains only null values.");
@@ -126,55 +153,151 @@ public class ConfigManager<T extends ConfigData> {
                 createBackup("pre-migration");
                 JsonObject oldConfigJson = gson.toJsonTree(loadedConfig).getAsJsonObject();
                 T migratedConfig = merge(oldConfigJson);
-                this.configData.set(migratedConfig);
+                applyConfig(migratedConfig);
                 saveConfig(migratedConfig, true);
             } else {
-                this.configData.set(loadedConfig);
-                this.lastSavedHash.set(loadedConfig.hashCode());
+                lastFileHash = fileHash;
+                long hash = ContentHash.of(gson, loadedConfig);
+                if (!force && hash == lastSavedHash.get() && !hasUnsavedChanges.get()) {
+                    // Only comments or formatting changed.
+                    LOGGER.debug("Config for '{}' is unchanged in content. Keeping the current instance.", defaultConfig.getConfigId());
+                    updateCache(configData.get(), stamp, fileHash);
+                    return true;
+                }
+                applyConfig(loadedConfig);
+                this.lastSavedHash.set(hash);
                 hasUnsavedChanges.set(false);
+                updateCache(loadedConfig, stamp, fileHash);
                 LOGGER.info("Successfully loaded configuration for '{}'.", defaultConfig.getConfigId());
             }
             return true; // Success!
 
+        } catch (IOException e) {
+            return restoreUnreadable(e);
         } catch (JsonParseException e) {
             LOGGER.warn("Config file for '{}' is corrupt. Attempting to salvage settings... Reason: {}",
                     defaultConfig.getConfigId(), e.getMessage());
             createBackup("corrupted");
 
-            T recoveredConfig = null;
-            if (!content.isBlank()) {
-                String cleanedContent = Stream.of(content.split("\n"))
-                        .map(line -> line.trim().replaceAll("^,", "").trim())
-                        .collect(Collectors.joining("\n"));
-
-                try {
-                    JsonReader reader = new JsonReader(new StringReader(cleanedContent));
-                    reader.setLenient(true);
-                    JsonElement parsedElement = JsonParser.parseReader(reader);
-
-                    if (parsedElement.isJsonObject()) {
-                        recoveredConfig = merge(parsedElement.getAsJsonObject());
-                        LOGGER.info("Successfully salvaged settings for '{}' from corrupted config.", defaultConfig.getConfigId());
-                    }
-                } catch (Exception salvageException) {
-                    LOGGER.warn("Salvage attempt for '{}' failed. The file's syntax may be too damaged. Reason: {}",
-                            defaultConfig.getConfigId(), salvageException.getMessage());
-                }
-            }
-
+            T recoveredConfig = salvage();
             if (recoveredConfig != null) {
-                this.configData.set(recoveredConfig);
+                applyConfig(recoveredConfig);
                 saveConfig(recoveredConfig, true);
                 return true; // Salvage was successful!
             } else {
                 LOGGER.error("Could not salvage configuration for '{}'. A new default config has been generated.", defaultConfig.getConfigId());
-                this.configData.set(defaultConfig);
+                applyConfig(defaultConfig);
                 saveConfig(defaultConfig, true);
                 return false; // Salvage failed.
             }
         }
     }
 
+    private boolean restoreUnreadable(IOException e) {
+        LOGGER.error("Could not read config file '{}'. Restoring defaults.", configFile, e);
+        createBackup("unreadable");
+        applyConfig(defaultConfig);
+        saveConfig(defaultConfig, true);
+        return false;
+    }
+
+    /**
+     * Re-reads a file that failed to parse, keeping every field that can still be read. Each value that has to be
+     * dropped, whether for its syntax or for its type, is logged with its position in the file.
+     * @return the recovered config, with defaults for everything dropped, or null if nothing could be read.
+     */
+    private T salvage() {
+        JsoncSalvage.Result result;
+        try (JsoncReader in = JsoncReader.open(configFile)) {
+            result = JsoncSalvage.parse(in);
+        } catch (IOException e) {
+            LOGGER.warn("Salvage attempt for '{}' failed: {}", defaultConfig.getConfigId(), e.getMessage());
+            return null;
+        }
+        for (JsoncSalvage.Problem problem : result.problems()) {
+            LOGGER.warn("Dropped '{}' in config '{}' at {}: {}", problem.path().isEmpty() ? "<root>" : problem.path(),
+                    defaultConfig.getConfigId(), problem.position(), problem.message());
+        }
+        if (result.root() == null) return null;
+
+        JsonObject values = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : result.root().entrySet()) {
+            JsonObject single = new JsonObject();
+            single.add(entry.getKey(), entry.getValue());
+            try {
+                gson.fromJson(single, configClass);
+                values.add(entry.getKey(), entry.getValue());
+            } catch (JsonParseException | IllegalStateException | NumberFormatException typeError) {
+                LOGGER.warn("Dropped '{}' in config '{}' at {}: value has the wrong type ({})", entry.getKey(),
+                        defaultConfig.getConfigId(), result.members().get(entry.getKey()), typeError.getMessage());
+            }
+        }
+        try {
+            T recovered = merge(values);
+            LOGGER.info("Successfully salvaged settings for '{}' from corrupted config.", defaultConfig.getConfigId());
+            return recovered;
+        } catch (JsonParseException e) {
+            LOGGER.warn("Salvage attempt for '{}' failed. Reason: {}", defaultConfig.getConfigId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private long hashFile() throws IOException {
+        try (Reader in = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+            return ContentHash.of(in);
+        }
+    }
+
+    /**
+     * Loads the config from its binary snapshot if the snapshot was taken from the file as it is now.
+     * @return false if the file has to be parsed instead.
+     */
+    private boolean loadFromCache() {
+        ConfigCache.Snapshot snapshot = cache.read();
+        if (snapshot == null || !currentVersion.equals(snapshot.key().version())) return false;
+        try {
+            ConfigCache.Key key = snapshot.key();
+            FileStamp stamp = FileStamp.of(configFile);
+            boolean stampMatches = stamp.size() == key.size() && stamp.modified().toMillis() == key.modifiedMillis();
+            // A copied or touched file gets a new modification time; hashing is still far cheaper than parsing.
+            if (!stampMatches && hashFile() != key.contentHash()) {
+                return false;
+            }
+            T config = gson.fromJson(snapshot.tree(), configClass);
+            if (config == null) return false;
+            applyConfig(config);
+            lastSavedHash.set(ContentHash.of(gson, config));
+            lastFileHash = key.contentHash();
+            hasUnsavedChanges.set(false);
+            if (!stampMatches) updateCache(config, stamp, key.contentHash());
+            LOGGER.info("Loaded configuration for '{}' from its compiled cache.", defaultConfig.getConfigId());
+            return true;
+        } catch (IOException | JsonParseException e) {
+            LOGGER.debug("Ignoring the config cache for '{}': {}", defaultConfig.getConfigId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the binary snapshot on the config I/O executor.
+     * @param stamp the file as it was when {@code config} was read from or written to it.
+     */
+    private void updateCache(T config, FileStamp stamp, long fileHash) {
+        ConfigCache.Key key = new ConfigCache.Key(stamp.size(), stamp.modified().toMillis(), fileHash, currentVersion);
+        try {
+            io.executor().execute(() -> {
+                try {
+                    cache.write(key, gson.toJsonTree(config));
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to write the config cache for '{}': {}", defaultConfig.getConfigId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The service has stopped; the file is still read normally next time.
+            LOGGER.debug("Skipping the config cache update for '{}': the config I/O service is stopped.", defaultConfig.getConfigId());
+        }
+    }
+
     /**
      * Forces a reload of the configuration from the disk.
      * This is the public method that should be called by commands.
@@ -182,7 +305,7 @@ public class ConfigManager<T extends ConfigData> {
      */
     public boolean reload() {
         LOGGER.info("Manual reload triggered for '{}'. Loading configuration from disk...", defaultConfig.getConfigId());
-        return this.loadConfig();
+        return this.loadConfig(true);
     }
 
     private T merge(JsonObject existingValues) {
@@ -195,33 +318,74 @@ public class ConfigManager<T extends ConfigData> {
         }
         return gson.fromJson(defaultJson, configClass);
     }
+    /**
+     * Registers a listener that is called with the new config every time it is loaded, reloaded or updated.
+     * It is invoked immediately with the current config, and may be called from the config I/O thread.
+     */
+    public void addReloadListener(Consumer<T> listener) {
+        reloadListeners.add(listener);
+        listener.accept(configData.get());
+    }
+
+    private void applyConfig(T config) {
+        config.onLoaded();
+        this.configData.set(config);
+        for (Consumer<T> listener : reloadListeners) {
+            try {
+                listener.accept(config);
+            } catch (Exception e) {
+                LOGGER.error("Reload listener for '{}' failed", defaultConfig.getConfigId(), e);
+            }
+        }
+    }
+
     public T getConfig() { return configData.get(); }
     public synchronized void updateConfig(T newConfig) {
-        this.configData.set(newConfig);
-        if (newConfig.hashCode() != lastSavedHash.get()) {
+        applyConfig(newConfig);
+        if (ContentHash.of(gson, newConfig) != lastSavedHash.get()) {
             hasUnsavedChanges.set(true);
             if (!metadata.watcherSettings().autoSaveEnabled()) {
                 save();
             }
         }
     }
-    public void save() { executor.submit(() -> saveConfig(configData.get(), false)); }
+    public void save() {
+        try {
+            io.executor().submit(() -> saveConfig(configData.get(), false));
+        } catch (RejectedExecutionException e) {
+            // The service has stopped with the server; write now rather than lose the change.
+            saveConfig(configData.get(), false);
+        }
+    }
     private void saveConfig(T config, boolean force) {
         if (!force && !hasUnsavedChanges.getAndSet(false)) { return; }
+        long hash = ContentHash.of(gson, config);
+        // Changed and changed back since the last save.
+        if (!force && hash == lastSavedHash.get()) { return; }
         try {
             JsonObject configJson = gson.toJsonTree(config).getAsJsonObject();
             if (metadata.includeVersion()) { configJson.addProperty("version", currentVersion); }
             if (metadata.includeTimestamp()) { configJson.addProperty("last-updated", LocalDateTime.now().toString()); }
             String content = buildFileContent(gson.toJson(configJson));
-            Files.writeString(configFile, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            lastSavedHash.set(config.hashCode());
+            writeAtomically(content);
+            lastFileHash = ContentHash.of(content);
+            lastSavedHash.set(hash);
             hasUnsavedChanges.set(false);
+            updateCache(config, lastWrite, lastFileHash);
             LOGGER.info("Configuration for '{}' saved successfully.", defaultConfig.getConfigId());
         } catch (IOException e) {
             LOGGER.error("Failed to save config file '{}': {}", configFile, e.getMessage());
             hasUnsavedChanges.set(true);
         }
     }
+    /**
+     * Readers (including the server on the next start) only ever see the old or the new content, never a half-written file.
+     */
+    private void writeAtomically(String content) throws IOException {
+        AtomicFiles.write(configFile, content.getBytes(StandardCharsets.UTF_8));
+        lastWrite = FileStamp.of(configFile);
+    }
+
     private String buildFileContent(String jsonContent) {
         StringBuilder sb = new StringBuilder();
         if (metadata.headerComments() != null && !metadata.headerComments().isEmpty()) {
@@ -240,62 +404,60 @@ public class ConfigManager<T extends ConfigData> {
     private void createBackup(String reason) {
         if (!Files.exists(configFile)) return;
         try {
-            String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").format(LocalDateTime.now());
-            Path backupFile = backupDir.resolve(String.format("%s_%s_%s.jsonc.bak", defaultConfig.getConfigId(), reason, timestamp));
-            Files.copy(configFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
+            Path backupFile = backups.create(configFile, reason);
             LOGGER.info("Created backup for '{}' at: {}", defaultConfig.getConfigId(), backupFile);
-            try (Stream<Path> stream = Files.list(backupDir)) {
-                List<Path> backups = stream.filter(p -> p.toString().endsWith(".jsonc.bak"))
-                        .sorted(Comparator.comparing(p -> {
-                            try { return Files.readAttributes(p, BasicFileAttributes.class).creationTime(); } catch (IOException e) { return null; }
-                        }, Comparator.nullsLast(Comparator.reverseOrder()))).toList();
-                if (backups.size() > 20) {
-                    for (int i = 20; i < backups.size(); i++) { Files.delete(backups.get(i)); }
-                }
-            }
         } catch (IOException e) {
             LOGGER.error("Failed to create backup for '{}': {}", defaultConfig.getConfigId(), e.getMessage());
         }
     }
     private void setupWatcher() {
+        io.watch(configFile, watchListener);
+    }
+
+    private void onFileChanged() {
+        if (!isOwnWrite()) scheduleReload();
+    }
+
+    private boolean isOwnWrite() {
+        FileStamp own = lastWrite;
+        if (own == null) return false;
         try {
-            watchService = FileSystems.getDefault().newWatchService();
-            configFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY);
-            Thread watcherThread = new Thread(() -> {
-                try {
-                    WatchKey key;
-                    while ((key = watchService.take()) != null) {
-                        for (WatchEvent<?> event : key.pollEvents()) {
-                            if (configFile.getFileName().equals(event.context())) {
-                                executor.schedule(this::reload, metadata.watcherSettings().debounceMs(), TimeUnit.MILLISECONDS);
-                            }
-                        }
-                        key.reset();
-                    }
-                } catch (InterruptedException | ClosedWatchServiceException e) {
-                    LOGGER.info("Stopping config file watcher for '{}'.", defaultConfig.getConfigId());
-                }
-            }, "ConfigFileWatcher-" + defaultConfig.getConfigId());
-            watcherThread.setDaemon(true);
-            watcherThread.start();
+            return own.equals(FileStamp.of(configFile));
         } catch (IOException e) {
-            LOGGER.error("Could not set up file watcher for '{}': {}", defaultConfig.getConfigId(), e.getMessage());
+            return false;
         }
     }
+
+    /**
+     * Schedules a reload after the debounce delay, replacing one that has not started yet, so a burst of events
+     * leads to exactly one reload.
+     */
+    private void scheduleReload() {
+        synchronized (reloadLock) {
+            if (pendingReload != null) pendingReload.cancel(false);
+            try {
+                pendingReload = io.executor().schedule(() -> loadConfig(false), metadata.watcherSettings().debounceMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                pendingReload = null;
+                LOGGER.debug("Ignoring a change to '{}': the config I/O service is stopped.", defaultConfig.getConfigId());
+            }
+        }
+    }
+
     private void setupAutoSave() {
-        executor.scheduleAtFixedRate(this::save,
-                metadata.watcherSettings().autoSaveIntervalMs(),
-                metadata.watcherSettings().autoSaveIntervalMs(),
-                TimeUnit.MILLISECONDS);
+        io.scheduleRepeating(autoSaveTask, metadata.watcherSettings().autoSaveIntervalMs());
     }
+
+    /**
+     * Stops watching and auto-saving this config and writes any unsaved changes. The shared
+     * {@link ConfigIoService} keeps running for the other managers.
+     */
     public void shutdown() {
-        try {
-            if (watchService != null) { watchService.close(); }
-            executor.shutdown();
-            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) { executor.shutdownNow(); }
-        } catch (IOException | InterruptedException e) {
-            LOGGER.error("Error during ConfigManager shutdown: {}", e.getMessage());
-            Thread.currentThread().interrupt();
+        io.unwatch(configFile, watchListener);
+        io.cancelRepeating(autoSaveTask);
+        synchronized (reloadLock) {
+            if (pendingReload != null) pendingReload.cancel(false);
         }
+        saveConfig(configData.get(), false);
     }
-}
\ No newline at end of file
+}
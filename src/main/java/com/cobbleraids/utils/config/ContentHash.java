@@ -0,0 +1,95 @@
+package com.cobbleraids.utils.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * 64-bit structural fingerprints for config objects and files.
+ * <p>
+ * A config is hashed by streaming its compact JSON form through a hashing {@link Writer}, so two configs with the
+ * same content always have the same fingerprint, whatever their identity, and no JSON tree or string is built. The
+ * hash is FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer. It only detects changes; it is not
+ * meant to resist deliberate collisions.
+ */
+public final class ContentHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentHash() {}
+
+    public static long of(Gson gson, Object value) {
+        HashingWriter out = new HashingWriter();
+        try {
+            gson.toJson(value, value.getClass(), new JsonWriter(out));
+        } catch (JsonIOException e) {
+            // HashingWriter never throws, so this can only be a serialization bug.
+            throw new IllegalStateException("Failed to hash " + value.getClass().getSimpleName(), e);
+        }
+        return out.finish();
+    }
+
+    public static long of(CharSequence text) {
+        HashingWriter out = new HashingWriter();
+        for (int i = 0; i < text.length(); i++) {
+            out.update(text.charAt(i));
+        }
+        return out.finish();
+    }
+
+    /**
+     * Same as {@link #of(CharSequence)} over everything {@code in} yields, without holding it in memory.
+     */
+    public static long of(Reader in) throws IOException {
+        HashingWriter out = new HashingWriter();
+        in.transferTo(out);
+        return out.finish();
+    }
+
+    private static final class HashingWriter extends Writer {
+        private long hash = FNV_OFFSET;
+
+        private void update(char c) {
+            hash = (hash ^ c) * FNV_PRIME;
+        }
+
+        private long finish() {
+            long h = hash;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        @Override
+        public void write(int c) {
+            update((char) c);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                update(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                update(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,187 @@
+package com.cobbleraids.utils.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streams JSONC as plain JSON: line and block comments, and trailing commas before a closing <code>}</code> or
+ * <code>]</code>, are replaced by spaces, and everything else passes through unchanged.
+ * <p>
+ * Nothing is removed, only blanked, and line breaks inside comments are kept, so every character stays at the line
+ * and column it had in the file. Errors reported by GSON's {@code JsonReader} or by {@link JsoncSalvage} on top of
+ * this reader therefore point at the right place in the original file. Only a comma and the whitespace and comments
+ * after it are ever held back; the rest of the input is read in fixed-size chunks.
+ */
+public final class JsoncReader extends Reader {
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final char[] input = new char[8192];
+    private int inputPos;
+    private int inputEnd;
+    private int pushedBack = NONE;
+    private boolean inString;
+    private boolean escaped;
+    private boolean eof;
+
+    /** Output produced but not read yet. */
+    private char[] pending = new char[64];
+    private int pendingStart;
+    private int pendingEnd;
+
+    public JsoncReader(Reader in) {
+        this.in = in;
+    }
+
+    public static JsoncReader open(Path file) throws IOException {
+        return new JsoncReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) return -1;
+        return pending[pendingStart++];
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        int count = 0;
+        while (count < length && (pendingStart < pendingEnd || count == 0)) {
+            if (!fill()) break;
+            int n = Math.min(length - count, pendingEnd - pendingStart);
+            System.arraycopy(pending, pendingStart, buffer, offset + count, n);
+            pendingStart += n;
+            count += n;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        while (pendingStart == pendingEnd) {
+            if (eof) return false;
+            pendingStart = pendingEnd = 0;
+            process();
+        }
+        return true;
+    }
+
+    private void process() throws IOException {
+        int c = next();
+        if (c < 0) {
+            eof = true;
+            return;
+        }
+        if (inString) {
+            emit(c);
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+            return;
+        }
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                emit(c);
+            }
+            case '/' -> {
+                if (!blankComment()) emit('/');
+            }
+            case ',' -> holdComma();
+            default -> emit(c);
+        }
+    }
+
+    /**
+     * Emits the comma along with the whitespace and comments after it, turning it into a space if the next real
+     * character closes an object or array.
+     */
+    private void holdComma() throws IOException {
+        int comma = pendingEnd;
+        emit(',');
+        while (true) {
+            int c = next();
+            if (c < 0) return;
+            if (Character.isWhitespace(c)) {
+                emit(c);
+            } else if (c == '/') {
+                if (!blankComment()) {
+                    emit('/');
+                    return;
+                }
+            } else {
+                if (c == '}' || c == ']') pending[comma] = ' ';
+                pushedBack = c;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called after a {@code /}. Blanks the comment it starts, if it does.
+     */
+    private boolean blankComment() throws IOException {
+        int c = next();
+        if (c == '/') {
+            emit(' ');
+            emit(' ');
+            while ((c = next()) >= 0) {
+                if (c == '\n' || c == '\r') {
+                    pushedBack = c;
+                    break;
+                }
+                emit(' ');
+            }
+            return true;
+        }
+        if (c == '*') {
+            emit(' ');
+            emit(' ');
+            boolean star = false;
+            while ((c = next()) >= 0) {
+                emit(c == '\n' || c == '\r' ? c : ' ');
+                if (star && c == '/') break;
+                star = c == '*';
+            }
+            return true;
+        }
+        if (c >= 0) pushedBack = c;
+        return false;
+    }
+
+    private int next() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (inputPos == inputEnd) {
+            int n = in.read(input, 0, input.length);
+            if (n <= 0) return -1;
+            inputPos = 0;
+            inputEnd = n;
+        }
+        return input[inputPos++];
+    }
+
+    private void emit(int c) {
+        if (pendingEnd == pending.length) pending = Arrays.copyOf(pending, pending.length * 2);
+        pending[pendingEnd++] = (char) c;
+    }
+}
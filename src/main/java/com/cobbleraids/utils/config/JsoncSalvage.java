@@ -0,0 +1,298 @@
+package com.cobbleraids.utils.config;
+
+import com.google.gson.*;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Best-effort parser for a damaged config, run over a {@link JsoncReader}.
+ * <p>
+ * Each object member and array element is parsed on its own. When one is malformed, it is dropped with a
+ * {@link Problem} giving its path and position, the input is skipped to the next {@code ,} or closing bracket at
+ * that nesting level, and parsing goes on. Everything that parsed is kept, however deeply nested. The input is read
+ * one character at a time and never held in memory as a whole.
+ */
+final class JsoncSalvage {
+
+    record Position(int line, int column) {
+        @Override
+        public String toString() {
+            return "line " + line + ", column " + column;
+        }
+    }
+
+    record Problem(String path, Position position, String message) {}
+
+    /**
+     * @param root the recovered top-level object, or null if the input is not an object at all.
+     * @param members where each recovered top-level member starts, for reporting problems found later.
+     */
+    record Result(@Nullable JsonObject root, Map<String, Position> members, List<Problem> problems) {}
+
+    private static final class SyntaxError extends Exception {
+        private final Position position;
+
+        SyntaxError(Position position, String message) {
+            super(message, null, false, false);
+            this.position = position;
+        }
+    }
+
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final Map<String, Position> members = new LinkedHashMap<>();
+    private final List<Problem> problems = new ArrayList<>();
+    private int peeked = NONE;
+    private int line = 1;
+    private int column = 1;
+
+    private JsoncSalvage(Reader in) {
+        this.in = in;
+    }
+
+    static Result parse(Reader in) throws IOException {
+        JsoncSalvage salvage = new JsoncSalvage(in);
+        salvage.skipWhitespace();
+        JsonObject root = null;
+        if (salvage.peek() == '{') {
+            root = salvage.readObject("", true);
+        } else {
+            salvage.problems.add(new Problem("", salvage.position(), "the file does not contain a JSON object"));
+        }
+        return new Result(root, salvage.members, salvage.problems);
+    }
+
+    private JsonObject readObject(String path, boolean topLevel) throws IOException {
+        read(); // {
+        JsonObject object = new JsonObject();
+        while (true) {
+            skipWhitespace();
+            int c = peek();
+            if (c == '}') {
+                read();
+                return object;
+            }
+            if (c < 0) {
+                problems.add(new Problem(path, position(), "unterminated object"));
+                return object;
+            }
+            Position start = position();
+            String memberPath = path;
+            try {
+                String name = c == '"' ? readString() : readWord();
+                memberPath = path.isEmpty() ? name : path + "." + name;
+                skipWhitespace();
+                if (peek() != ':') throw new SyntaxError(position(), "expected ':' after the name");
+                read();
+                skipWhitespace();
+                object.add(name, readValue(memberPath));
+                if (topLevel) members.put(name, start);
+            } catch (SyntaxError e) {
+                problems.add(new Problem(memberPath, e.position, e.getMessage()));
+                skipToEnd('}');
+            }
+            if (!separator('}')) {
+                problems.add(new Problem(path, position(), "expected ',' or '}'"));
+                skipToEnd('}');
+                separator('}');
+            }
+        }
+    }
+
+    private JsonArray readArray(String path) throws IOException {
+        read(); // [
+        JsonArray array = new JsonArray();
+        int index = 0;
+        while (true) {
+            skipWhitespace();
+            int c = peek();
+            if (c == ']') {
+                read();
+                return array;
+            }
+            if (c < 0) {
+                problems.add(new Problem(path, position(), "unterminated array"));
+                return array;
+            }
+            String elementPath = path + "[" + index++ + "]";
+            try {
+                array.add(readValue(elementPath));
+            } catch (SyntaxError e) {
+                problems.add(new Problem(elementPath, e.position, e.getMessage()));
+                skipToEnd(']');
+            }
+            if (!separator(']')) {
+                problems.add(new Problem(path, position(), "expected ',' or ']'"));
+                skipToEnd(']');
+                separator(']');
+            }
+        }
+    }
+
+    /**
+     * Consumes a {@code ,} after a member or element, or stops in front of the closing bracket or the end of input.
+     * @return false if something else follows.
+     */
+    private boolean separator(char close) throws IOException {
+        skipWhitespace();
+        int c = peek();
+        if (c == ',') {
+            read();
+            return true;
+        }
+        return c == close || c < 0;
+    }
+
+    private JsonElement readValue(String path) throws IOException, SyntaxError {
+        int c = peek();
+        if (c == '{') return readObject(path, false);
+        if (c == '[') return readArray(path);
+        if (c == '"') return new JsonPrimitive(readString());
+        if (c == '-' || (c >= '0' && c <= '9')) return readNumber();
+        if (Character.isLetter(c)) {
+            Position start = position();
+            String word = readWord();
+            return switch (word) {
+                case "true" -> new JsonPrimitive(true);
+                case "false" -> new JsonPrimitive(false);
+                case "null" -> JsonNull.INSTANCE;
+                default -> throw new SyntaxError(start, "unknown value '" + word + "'");
+            };
+        }
+        throw new SyntaxError(position(), c < 0 ? "missing value" : "unexpected character '" + (char) c + "'");
+    }
+
+    private JsonElement readNumber() throws IOException, SyntaxError {
+        Position start = position();
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = peek()) >= 0 && (c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E')) {
+            text.append((char) read());
+        }
+        try {
+            new BigDecimal(text.toString());
+        } catch (NumberFormatException e) {
+            throw new SyntaxError(start, "invalid number '" + text + "'");
+        }
+        return new JsonPrimitive(new LazilyParsedNumber(text.toString()));
+    }
+
+    private String readString() throws IOException, SyntaxError {
+        Position start = position();
+        read(); // "
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c < 0 || c == '\n' || c == '\r') throw new SyntaxError(start, "unterminated string");
+            if (c == '"') return text.toString();
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            Position escape = position();
+            int e = read();
+            switch (e) {
+                case '"', '\\', '/' -> text.append((char) e);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) throw new SyntaxError(escape, "invalid unicode escape");
+                        value = value * 16 + digit;
+                    }
+                    text.append((char) value);
+                }
+                default -> throw new SyntaxError(escape, "invalid escape sequence");
+            }
+        }
+    }
+
+    /**
+     * An unquoted name or literal.
+     */
+    private String readWord() throws IOException, SyntaxError {
+        Position start = position();
+        StringBuilder word = new StringBuilder();
+        int c;
+        while ((c = peek()) >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '-')) {
+            word.append((char) read());
+        }
+        if (word.isEmpty()) {
+            throw new SyntaxError(start, c < 0 ? "unexpected end of file" : "unexpected character '" + (char) c + "'");
+        }
+        return word.toString();
+    }
+
+    /**
+     * Skips the rest of a broken member or element: stops in front of the next {@code ,} or {@code close} that is
+     * not nested deeper or inside a string.
+     */
+    private void skipToEnd(char close) throws IOException {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int c;
+        while ((c = peek()) >= 0) {
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"' || c == '\n') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0 && c == close) return;
+                if (depth > 0) depth--;
+            } else if (c == ',' && depth == 0) {
+                return;
+            }
+            read();
+        }
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    private Position position() {
+        return new Position(line, column);
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NONE) peeked = in.read();
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = NONE;
+        if (c == '\n') {
+            line++;
+            column = 1;
+        } else if (c >= 0) {
+            column++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,241 @@
+package com.cobbleraids.utils.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary log written by a single background thread.
+ * <p>
+ * Every record is framed as {@code [int length][byte type][payload][int crc32]}. Producers only enqueue
+ * records; the writer thread drains everything that is queued, writes it as one batch and issues a single
+ * {@code fsync} for the whole batch (group commit). On open, the log is replayed and any torn tail left by a
+ * crash is cut off at the last record whose checksum is intact.
+ */
+public class AppendOnlyLog implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppendOnlyLog.class);
+    private static final int MAGIC = 0x43524C47; // "CRLG"
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_BATCH = 4096;
+    private static final Object CLOSE = new Object();
+
+    /**
+     * A record to append. It is serialized on the writer thread, so it must be immutable once enqueued.
+     */
+    public interface Record {
+        byte type();
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * Work that must run on the writer thread in order with the records around it, e.g. compaction.
+     */
+    public interface Task {
+        void run(AppendOnlyLog log) throws IOException;
+    }
+
+    public interface RecordHandler {
+        void accept(byte type, DataInput in) throws IOException;
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream(8192);
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(recordBytes);
+    private final DataOutputStream batchOut = new DataOutputStream(batchBytes);
+    private final CRC32 crc = new CRC32();
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    private AppendOnlyLog(Path file, FileChannel channel, String threadName) {
+        this.file = file;
+        this.channel = channel;
+        this.writerThread = new Thread(this::runWriter, threadName);
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Replays every intact record of the log into {@code handler}, truncates any torn tail and opens the log for appending.
+     * A missing or foreign file is replaced with an empty log.
+     */
+    public static AppendOnlyLog open(Path file, int version, String threadName, RecordHandler handler) throws IOException {
+        Files.createDirectories(file.getParent());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd;
+        try {
+            validEnd = replay(channel, version, handler, file);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (validEnd < 0) {
+            channel.truncate(0);
+            channel.write(header(version), 0);
+            validEnd = HEADER_SIZE;
+        } else if (validEnd < channel.size()) {
+            LOGGER.warn("Discarding {} bytes of torn records at the end of '{}'.", channel.size() - validEnd, file);
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        channel.force(true);
+
+        AppendOnlyLog log = new AppendOnlyLog(file, channel, threadName);
+        log.writerThread.start();
+        return log;
+    }
+
+    /**
+     * Enqueues a record. Never blocks and never touches the disk on the calling thread.
+     */
+    public void append(Record record) {
+        if (closed) return;
+        queue.add(record);
+    }
+
+    /**
+     * Enqueues a task that runs on the writer thread after every record appended before it has been committed.
+     */
+    public void submit(Task task) {
+        if (closed) return;
+        queue.add(task);
+    }
+
+    /**
+     * Drops every record in the log. Only valid from a {@link Task} running on the writer thread.
+     */
+    public void truncate() throws IOException {
+        channel.truncate(HEADER_SIZE);
+        channel.position(HEADER_SIZE);
+        channel.force(true);
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    public Path getFile() { return file; }
+
+    /**
+     * Commits everything queued so far, stops the writer thread and closes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            writerThread.join(10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close log '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private void runWriter() {
+        List<Object> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (Object item : batch) {
+                    if (item == CLOSE) {
+                        running = false;
+                    } else if (item instanceof Record record) {
+                        frame(record);
+                    } else if (item instanceof Task task) {
+                        commit();
+                        task.run(this);
+                    }
+                }
+                commit();
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (Exception e) {
+                LOGGER.error("Failed to write batch to '{}'", file, e);
+                batchBytes.reset();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void frame(Record record) throws IOException {
+        recordBytes.reset();
+        recordOut.writeByte(record.type());
+        record.write(recordOut);
+        crc.reset();
+        crc.update(recordBytes.toByteArray(), 0, recordBytes.size());
+        batchOut.writeInt(recordBytes.size());
+        recordBytes.writeTo(batchOut);
+        batchOut.writeInt((int) crc.getValue());
+    }
+
+    private void commit() throws IOException {
+        if (batchBytes.size() == 0) return;
+        ByteBuffer buffer = ByteBuffer.wrap(batchBytes.toByteArray(), 0, batchBytes.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        batchBytes.reset();
+    }
+
+    private static ByteBuffer header(int version) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(version).flip();
+        return header;
+    }
+
+    /**
+     * @return the offset just past the last intact record, or -1 if the file has no valid header.
+     */
+    private static long replay(FileChannel channel, int version, RecordHandler handler, Path file) throws IOException {
+        if (channel.size() < HEADER_SIZE) return -1;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 65536));
+        if (in.readInt() != MAGIC || in.readInt() != version) {
+            LOGGER.warn("Log '{}' has an unknown header; starting a fresh log.", file);
+            return -1;
+        }
+        long offset = HEADER_SIZE;
+        long size = channel.size();
+        CRC32 checksum = new CRC32();
+        while (offset + 4 <= size) {
+            int length = in.readInt();
+            if (length <= 0 || offset + 8 + length > size) break;
+            byte[] payload = in.readNBytes(length);
+            int expected = in.readInt();
+            checksum.reset();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != expected) break;
+            DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(payload, 1, length - 1));
+            try {
+                handler.accept(payload[0], recordIn);
+            } catch (IOException | RuntimeException e) {
+                // An intact frame the handler cannot make sense of costs that record, not the whole log.
+                LOGGER.warn("Skipping unreadable record in '{}' at offset {}: {}", file, offset, e.getMessage());
+            }
+            offset += 8 + length;
+        }
+        return offset;
+    }
+}
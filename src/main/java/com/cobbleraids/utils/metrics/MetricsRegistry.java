@@ -0,0 +1,159 @@
+package com.cobbleraids.utils.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A small set of named counters, gauges and histograms that can be written out in the Prometheus text format.
+ * <p>
+ * Recording is lock-free and allocation-free, so it is cheap enough for the server tick: counters are
+ * {@link LongAdder}s, histograms are fixed bucket arrays of atomics, and gauges are only sampled on export.
+ * Metrics are registered once at startup; registering the same name twice returns the existing metric.
+ */
+public class MetricsRegistry {
+
+    private sealed interface Metric permits Counter, Gauge, Histogram {
+        String help();
+        void write(String name, Appendable out) throws IOException;
+    }
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name, String help) {
+        return (Counter) metrics.computeIfAbsent(name, n -> new Counter(help));
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value) {
+        metrics.putIfAbsent(name, new Gauge(help, value));
+    }
+
+    /**
+     * @param bucketBounds ascending upper bounds of the buckets, in the unit the histogram is recorded in.
+     * @param exportScale factor applied to bounds and sum on export, e.g. {@code 1e-9} to record nanoseconds and export seconds.
+     */
+    public Histogram histogram(String name, String help, long[] bucketBounds, double exportScale) {
+        return (Histogram) metrics.computeIfAbsent(name, n -> new Histogram(help, bucketBounds, exportScale));
+    }
+
+    /**
+     * Buckets from 10 us to ~5 s, doubling each time, for histograms recorded in nanoseconds.
+     */
+    public static long[] latencyBucketsNanos() {
+        long[] bounds = new long[20];
+        long bound = 10_000L;
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = bound;
+            bound *= 2;
+        }
+        return bounds;
+    }
+
+    public void writePrometheus(Appendable out) throws IOException {
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            String name = entry.getKey();
+            Metric metric = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(metric.help()).append('\n');
+            metric.write(name, out);
+        }
+    }
+
+    private static String format(double value) {
+        if (value == (long) value) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+
+    public static final class Counter implements Metric {
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String help) {
+            this.help = help;
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        public String help() { return help; }
+
+        @Override
+        public void write(String name, Appendable out) throws IOException {
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(Long.toString(value.sum())).append('\n');
+        }
+    }
+
+    private record Gauge(String help, DoubleSupplier value) implements Metric {
+        @Override
+        public void write(String name, Appendable out) throws IOException {
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(format(value.getAsDouble())).append('\n');
+        }
+    }
+
+    public static final class Histogram implements Metric {
+        private final String help;
+        private final long[] bounds;
+        private final double exportScale;
+        // One slot per bound plus the +Inf overflow slot.
+        private final AtomicLongArray buckets;
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram(String help, long[] bounds, double exportScale) {
+            this.help = help;
+            this.bounds = bounds.clone();
+            this.exportScale = exportScale;
+            this.buckets = new AtomicLongArray(bounds.length + 1);
+        }
+
+        public void record(long value) {
+            int low = 0;
+            int high = bounds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (bounds[mid] < value) low = mid + 1;
+                else high = mid;
+            }
+            buckets.incrementAndGet(low);
+            sum.add(value);
+        }
+
+        /**
+         * Records the time elapsed since {@code startNanos}, as returned by {@link System#nanoTime()}.
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        @Override
+        public String help() { return help; }
+
+        @Override
+        public void write(String name, Appendable out) throws IOException {
+            out.append("# TYPE ").append(name).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets.get(i);
+                out.append(name).append("_bucket{le=\"").append(format(bounds[i] * exportScale)).append("\"} ")
+                        .append(Long.toString(cumulative)).append('\n');
+            }
+            cumulative += buckets.get(bounds.length);
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(Long.toString(cumulative)).append('\n');
+            out.append(name).append("_sum ").append(format(sum.sum() * exportScale)).append('\n');
+            out.append(name).append("_count ").append(Long.toString(cumulative)).append('\n');
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.cobbleraids.utils.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link MetricsRegistry} in the Prometheus text format, either by rewriting a file periodically (for the
+ * node exporter's textfile collector) or from an HTTP endpoint bound to the loopback interface only.
+ * All work happens on a single daemon thread, never on the server thread.
+ */
+public class PrometheusExporter implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrometheusExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private final ScheduledExecutorService executor;
+    private HttpServer httpServer;
+
+    private PrometheusExporter(MetricsRegistry registry) {
+        this.registry = registry;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CobbleRaids-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static PrometheusExporter toFile(MetricsRegistry registry, Path file, long intervalSeconds) {
+        PrometheusExporter exporter = new PrometheusExporter(registry);
+        long interval = Math.max(1, intervalSeconds);
+        exporter.executor.scheduleWithFixedDelay(() -> exporter.writeFile(file), interval, interval, TimeUnit.SECONDS);
+        LOGGER.info("Writing raid metrics to {} every {}s", file, interval);
+        return exporter;
+    }
+
+    public static PrometheusExporter toHttp(MetricsRegistry registry, int port) throws IOException {
+        PrometheusExporter exporter = new PrometheusExporter(registry);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try (exchange) {
+                byte[] body = exporter.render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.setExecutor(exporter.executor);
+        server.start();
+        exporter.httpServer = server;
+        LOGGER.info("Serving raid metrics on http://{}:{}/metrics", server.getAddress().getHostString(), port);
+        return exporter;
+    }
+
+    private String render() throws IOException {
+        StringWriter out = new StringWriter(4096);
+        registry.writePrometheus(out);
+        return out.toString();
+    }
+
+    private void writeFile(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            // The textfile collector may read at any moment, so never expose a half-written file.
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, render(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write raid metrics to {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        executor.shutdownNow();
+    }
+}
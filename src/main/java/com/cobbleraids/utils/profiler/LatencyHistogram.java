@@ -0,0 +1,62 @@
+package com.cobbleraids.utils.profiler;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond durations. Each power of two is split into 8 sub-buckets, so any
+ * value is placed within 12.5% of its true value using a constant 496 slots, whatever the range. Not thread-safe.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        if (value > max) max = value;
+    }
+
+    public long getCount() { return count; }
+    public long getTotal() { return total; }
+    public long getMax() { return max; }
+
+    public long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return an upper bound of the bucket holding that quantile, capped at the recorded maximum.
+     */
+    public long getPercentile(double quantile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBoundOf(i), max);
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.cobbleraids.utils.random;
+
+import java.util.Random;
+
+/**
+ * Walker/Vose alias table for sampling a discrete distribution in O(1) time without allocation.
+ * Built once in O(n) from a set of non-negative weights; immutable afterwards and safe to share between threads.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights non-negative weights with a positive sum. Index {@code i} is returned with probability {@code weights[i] / sum}.
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("An alias table needs at least one weight");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Weights must have a positive sum");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is 1.0 up to rounding error.
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,266 @@
+package com.cobbleraids.utils.scheduler;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A tick-driven hierarchical timing wheel. Tasks are bucketed by their expiry tick into one of
+ * {@link #LEVELS} wheels of {@link #SLOTS} slots each, so inserting, cancelling and expiring a task
+ * are all O(1). Far-away tasks cascade down into finer wheels as time advances.
+ * <p>
+ * The scheduler is not thread-safe: it is owned by the server thread, advanced once per server tick,
+ * and every callback runs on the thread that calls {@link #tick()}.
+ */
+public class TickScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TickScheduler.class);
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (BITS * LEVELS);
+
+    private final ScheduledTask[][] wheels = new ScheduledTask[LEVELS][SLOTS];
+    private final Map<UUID, ScheduledTask> ownerLists = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    public TickScheduler() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = ScheduledTask.sentinel(null);
+            }
+        }
+    }
+
+    /**
+     * Schedules a one-shot task.
+     * @param owner the raid or player handle the task belongs to, or null if it should only be cancelled directly.
+     * @param delayTicks ticks until the task runs; 0 runs it on the next call to {@link #tick()}.
+     */
+    public ScheduledTask schedule(@Nullable UUID owner, long delayTicks, Consumer<ScheduledTask> action) {
+        return scheduleRepeating(owner, delayTicks, 0, action);
+    }
+
+    /**
+     * Schedules a task that first runs after {@code delayTicks} and then every {@code periodTicks}
+     * until it is cancelled. A period of 0 makes it a one-shot task.
+     */
+    public ScheduledTask scheduleRepeating(@Nullable UUID owner, long delayTicks, long periodTicks, Consumer<ScheduledTask> action) {
+        if (periodTicks < 0) {
+            throw new IllegalArgumentException("periodTicks must not be negative");
+        }
+        ScheduledTask task = new ScheduledTask(this, owner, currentTick + Math.max(0, delayTicks), periodTicks, action);
+        insert(task);
+        if (owner != null) {
+            ScheduledTask ownerHead = ownerLists.computeIfAbsent(owner, ScheduledTask::sentinel);
+            task.linkOwner(ownerHead);
+        }
+        size++;
+        return task;
+    }
+
+    /**
+     * Cancels every pending task registered under the given raid or player handle.
+     * @return the number of tasks that were cancelled.
+     */
+    public int cancelAll(UUID owner) {
+        ScheduledTask ownerHead = ownerLists.remove(owner);
+        if (ownerHead == null) return 0;
+        int cancelled = 0;
+        while (ownerHead.ownerNext != ownerHead) {
+            ScheduledTask task = ownerHead.ownerNext;
+            task.unlinkOwner();
+            if (task.cancelInternal()) cancelled++;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every task that expires on it.
+     */
+    public void tick() {
+        int index = (int) (currentTick & MASK);
+        if (index == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int levelIndex = (int) ((currentTick >>> (BITS * level)) & MASK);
+                cascade(level, levelIndex);
+                if (levelIndex != 0) break;
+            }
+        }
+
+        ScheduledTask head = wheels[0][index];
+        while (head.next != head) {
+            ScheduledTask task = head.next;
+            task.unlinkSlot();
+            if (task.deadline > currentTick) {
+                // Task was clamped into the top wheel; put it back where it belongs.
+                insert(task);
+                continue;
+            }
+            run(task);
+        }
+        currentTick++;
+    }
+
+    /**
+     * Cancels every pending task.
+     */
+    public void clear() {
+        ownerLists.clear();
+        for (ScheduledTask[] wheel : wheels) {
+            for (ScheduledTask head : wheel) {
+                while (head.next != head) {
+                    ScheduledTask task = head.next;
+                    task.ownerPrev = task;
+                    task.ownerNext = task;
+                    task.cancelInternal();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of tasks currently waiting in the wheel.
+     */
+    public int size() { return size; }
+
+    public long getCurrentTick() { return currentTick; }
+
+    private void run(ScheduledTask task) {
+        try {
+            task.action.accept(task);
+        } catch (Exception e) {
+            LOGGER.error("Scheduled raid task threw an exception", e);
+        }
+        if (task.cancelled) return;
+        if (task.period > 0) {
+            task.deadline = currentTick + task.period;
+            insert(task);
+        } else {
+            task.cancelled = true;
+            task.unlinkOwner();
+            size--;
+        }
+    }
+
+    private void cascade(int level, int index) {
+        ScheduledTask head = wheels[level][index];
+        while (head.next != head) {
+            ScheduledTask task = head.next;
+            task.unlinkSlot();
+            insert(task);
+        }
+    }
+
+    private void insert(ScheduledTask task) {
+        long expires = task.deadline;
+        long delta = expires - currentTick;
+        ScheduledTask head;
+        if (delta < 0) {
+            head = wheels[0][(int) (currentTick & MASK)];
+        } else if (delta < SLOTS) {
+            head = wheels[0][(int) (expires & MASK)];
+        } else {
+            if (delta >= MAX_SPAN) {
+                expires = currentTick + MAX_SPAN - 1;
+                delta = MAX_SPAN - 1;
+            }
+            int level = 1;
+            while (delta >= 1L << (BITS * (level + 1))) level++;
+            head = wheels[level][(int) ((expires >>> (BITS * level)) & MASK)];
+        }
+        task.linkSlot(head);
+    }
+
+    /**
+     * Handle to a scheduled task. Tasks are intrusively linked into both their wheel slot and their
+     * owner's list, which is what keeps cancellation O(1).
+     */
+    public static final class ScheduledTask {
+        private final TickScheduler scheduler;
+        private final UUID owner;
+        private final long period;
+        private final Consumer<ScheduledTask> action;
+        private long deadline;
+        private boolean cancelled;
+
+        private ScheduledTask prev = this;
+        private ScheduledTask next = this;
+        private ScheduledTask ownerPrev = this;
+        private ScheduledTask ownerNext = this;
+
+        private ScheduledTask(TickScheduler scheduler, UUID owner, long deadline, long period, Consumer<ScheduledTask> action) {
+            this.scheduler = scheduler;
+            this.owner = owner;
+            this.deadline = deadline;
+            this.period = period;
+            this.action = action;
+        }
+
+        private static ScheduledTask sentinel(UUID owner) {
+            return new ScheduledTask(null, owner, Long.MAX_VALUE, 0, task -> {});
+        }
+
+        public boolean isCancelled() { return cancelled; }
+
+        @Nullable
+        public UUID getOwner() { return owner; }
+
+        public void cancel() {
+            if (scheduler == null) return;
+            unlinkOwner();
+            cancelInternal();
+        }
+
+        private boolean cancelInternal() {
+            if (cancelled) return false;
+            cancelled = true;
+            unlinkSlot();
+            scheduler.size--;
+            return true;
+        }
+
+        private void linkSlot(ScheduledTask head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlinkSlot() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+
+        private void linkOwner(ScheduledTask head) {
+            ownerPrev = head.ownerPrev;
+            ownerNext = head;
+            head.ownerPrev.ownerNext = this;
+            head.ownerPrev = this;
+        }
+
+        private void unlinkOwner() {
+            if (ownerNext == this) return;
+            ScheduledTask before = ownerPrev;
+            ScheduledTask after = ownerNext;
+            before.ownerNext = after;
+            after.ownerPrev = before;
+            ownerPrev = this;
+            ownerNext = this;
+            // The owner sentinel is the only node left when its list has drained.
+            if (before == after && before.scheduler == null && before.owner != null) {
+                scheduler.ownerLists.remove(before.owner, before);
+            }
+        }
+    }
+}
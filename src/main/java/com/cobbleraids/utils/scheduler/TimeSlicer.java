@@ -0,0 +1,110 @@
+package com.cobbleraids.utils.scheduler;
+
+import java.util.*;
+
+/**
+ * Spreads periodic per-item work over the ticks of a period, under a time budget per tick.
+ * <p>
+ * Every item gets a phase in {@code [0, period)}, chosen as the least crowded one when it is added, so items
+ * added together do not all come due on the same tick. On each tick the items whose phase it is join a FIFO queue,
+ * and queued items are run until the budget is spent. At least one item runs per tick, so the queue always drains
+ * eventually. Whatever is left over runs first on the next tick. An item that is still queued when its phase comes
+ * round again is not queued twice: under sustained overload each item simply runs less often.
+ * <p>
+ * Not thread-safe; driven from the server tick.
+ *
+ * @param <T> the item type; items are compared by {@code equals}.
+ */
+public class TimeSlicer<T> {
+
+    public interface Work<T> {
+        void run(T item);
+    }
+
+    private static final class Slot<T> {
+        private final T item;
+        private final int phase;
+        private boolean queued;
+        private boolean removed;
+
+        private Slot(T item, int phase) {
+            this.item = item;
+            this.phase = phase;
+        }
+    }
+
+    private final int period;
+    private final List<List<Slot<T>>> phases;
+    private final Map<T, Slot<T>> slots = new HashMap<>();
+    private final ArrayDeque<Slot<T>> queue = new ArrayDeque<>();
+
+    public TimeSlicer(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.period = period;
+        this.phases = new ArrayList<>(period);
+        for (int i = 0; i < period; i++) {
+            phases.add(new ArrayList<>());
+        }
+    }
+
+    public void add(T item) {
+        if (slots.containsKey(item)) return;
+        int phase = 0;
+        for (int i = 1; i < period; i++) {
+            if (phases.get(i).size() < phases.get(phase).size()) phase = i;
+        }
+        Slot<T> slot = new Slot<>(item, phase);
+        slots.put(item, slot);
+        phases.get(phase).add(slot);
+    }
+
+    /**
+     * Safe to call from inside {@link Work#run}.
+     */
+    public void remove(T item) {
+        Slot<T> slot = slots.remove(item);
+        if (slot == null) return;
+        slot.removed = true; // dropped from the queue when reached
+        phases.get(slot.phase).remove(slot);
+    }
+
+    public void clear() {
+        slots.clear();
+        queue.clear();
+        phases.forEach(List::clear);
+    }
+
+    /**
+     * @return items waiting to run, including those carried over from earlier ticks.
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    /**
+     * Queues the items due on {@code tick} and runs queued items until {@code budgetNanos} have passed.
+     * @return the number of items run.
+     */
+    public int tick(long tick, long budgetNanos, Work<T> work) {
+        for (Slot<T> slot : phases.get((int) Math.floorMod(tick, (long) period))) {
+            if (!slot.queued) {
+                slot.queued = true;
+                queue.add(slot);
+            }
+        }
+
+        long start = System.nanoTime();
+        int ran = 0;
+        while (!queue.isEmpty()) {
+            if (ran > 0 && System.nanoTime() - start >= budgetNanos) break;
+            Slot<T> slot = queue.poll();
+            slot.queued = false;
+            if (slot.removed) continue;
+            work.run(slot.item);
+            ran++;
+        }
+        return ran;
+    }
+}
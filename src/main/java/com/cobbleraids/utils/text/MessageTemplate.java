@@ -0,0 +1,217 @@
+package com.cobbleraids.utils.text;
+
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A message string from the config, parsed once into literal, placeholder and {@code §} formatting segments.
+ * <p>
+ * Everything before the first placeholder is rendered once and cached as a {@link Text}. Rendering only builds the
+ * part after it, into a reused per-thread buffer. Legacy formatting codes do not carry across sibling texts, so the
+ * codes still active at the end of the cached prefix are replayed at the start of the rendered suffix. Unknown
+ * {@code {names}} are kept as literal text.
+ */
+public final class MessageTemplate {
+
+    public enum Placeholder {
+        SPECIES("species"),
+        COORDS("coords"),
+        TIME("time"),
+        HP("hp"),
+        PLAYERS("players"),
+        TOP_DAMAGER("top_damager");
+
+        private final String key;
+
+        Placeholder(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+
+        private static Placeholder byKey(String key) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.key.equals(key)) return placeholder;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Appends the value of a placeholder to the render buffer.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        void append(Placeholder placeholder, StringBuilder out);
+    }
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private sealed interface Segment permits Literal, Code, Value {}
+    private record Literal(String text) implements Segment {}
+    private record Code(String codes) implements Segment {}
+    private record Value(Placeholder placeholder) implements Segment {}
+
+    private final String source;
+    private final Text prefix;
+    private final String carriedCodes;
+    private final Segment[] suffix;
+    private final Set<Placeholder> placeholders;
+
+    private MessageTemplate(String source, Text prefix, String carriedCodes, Segment[] suffix, Set<Placeholder> placeholders) {
+        this.source = source;
+        this.prefix = prefix;
+        this.carriedCodes = carriedCodes;
+        this.suffix = suffix;
+        this.placeholders = placeholders;
+    }
+
+    public static MessageTemplate compile(String source) {
+        List<Segment> segments = parse(source);
+
+        int firstPlaceholder = 0;
+        while (firstPlaceholder < segments.size() && !(segments.get(firstPlaceholder) instanceof Value)) {
+            firstPlaceholder++;
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        String activeCodes = "";
+        for (Segment segment : segments.subList(0, firstPlaceholder)) {
+            if (segment instanceof Literal literal) {
+                prefix.append(literal.text());
+            } else if (segment instanceof Code code) {
+                prefix.append(code.codes());
+                activeCodes = applyCodes(activeCodes, code.codes());
+            }
+        }
+
+        Set<Placeholder> placeholders = EnumSet.noneOf(Placeholder.class);
+        for (Segment segment : segments) {
+            if (segment instanceof Value value) placeholders.add(value.placeholder());
+        }
+        Segment[] suffix = segments.subList(firstPlaceholder, segments.size()).toArray(new Segment[0]);
+        return new MessageTemplate(source, Text.literal(prefix.toString()), activeCodes, suffix, placeholders);
+    }
+
+    public static List<MessageTemplate> compileAll(List<String> sources) {
+        List<MessageTemplate> templates = new ArrayList<>(sources.size());
+        for (String source : sources) {
+            templates.add(compile(source));
+        }
+        return List.copyOf(templates);
+    }
+
+    public String getSource() { return source; }
+
+    public boolean uses(Placeholder placeholder) {
+        return placeholders.contains(placeholder);
+    }
+
+    public boolean isStatic() {
+        return suffix.length == 0;
+    }
+
+    /**
+     * Renders the template. A template without placeholders returns the same cached {@link Text} every time.
+     */
+    public Text render(Resolver resolver) {
+        if (suffix.length == 0) return prefix;
+        MutableText rendered = Text.literal(renderSuffix(resolver));
+        return prefix.getString().isEmpty() ? rendered : Text.empty().append(prefix).append(rendered);
+    }
+
+    /**
+     * Renders the template as a plain string with its formatting codes, e.g. for logging or comparison.
+     */
+    public String renderString(Resolver resolver) {
+        if (suffix.length == 0) return prefix.getString();
+        return prefix.getString() + renderSuffix(resolver);
+    }
+
+    private String renderSuffix(Resolver resolver) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.append(carriedCodes);
+        for (Segment segment : suffix) {
+            if (segment instanceof Literal literal) {
+                out.append(literal.text());
+            } else if (segment instanceof Code code) {
+                out.append(code.codes());
+            } else {
+                resolver.append(((Value) segment).placeholder(), out);
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<Segment> parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        StringBuilder codes = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == Formatting.FORMATTING_CODE_PREFIX && i + 1 < source.length()
+                    && Formatting.byCode(source.charAt(i + 1)) != null) {
+                flush(segments, literal, false);
+                codes.append(c).append(source.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (c == '{') {
+                int end = source.indexOf('}', i + 1);
+                Placeholder placeholder = end < 0 ? null : Placeholder.byKey(source.substring(i + 1, end));
+                if (placeholder != null) {
+                    flush(segments, codes, true);
+                    flush(segments, literal, false);
+                    segments.add(new Value(placeholder));
+                    i = end + 1;
+                    continue;
+                }
+            }
+            flush(segments, codes, true);
+            literal.append(c);
+            i++;
+        }
+        flush(segments, codes, true);
+        flush(segments, literal, false);
+        return segments;
+    }
+
+    private static void flush(List<Segment> segments, StringBuilder pending, boolean codes) {
+        if (pending.isEmpty()) return;
+        segments.add(codes ? new Code(pending.toString()) : new Literal(pending.toString()));
+        pending.setLength(0);
+    }
+
+    /**
+     * Tracks which codes are still in effect: a colour or {@code §r} resets everything, modifiers stack.
+     */
+    private static String applyCodes(String active, String codes) {
+        StringBuilder result = new StringBuilder(active);
+        for (int i = 0; i + 1 < codes.length(); i += 2) {
+            Formatting formatting = Formatting.byCode(codes.charAt(i + 1));
+            if (formatting == null) continue;
+            if (formatting == Formatting.RESET) {
+                result.setLength(0);
+            } else if (formatting.isColor()) {
+                result.setLength(0);
+                result.append(codes, i, i + 2);
+            } else {
+                result.append(codes, i, i + 2);
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,131 @@
+package com.cobbleraids.raid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races battle threads against one {@link RaidHealth} to check its exactly-once guarantees.
+ */
+class RaidHealthTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 500;
+    private static final long MAX_HEALTH = 1_000L;
+    private static final long DAMAGE = 7L;
+
+    @Test
+    void exactlyOneHitDefeatsTheBoss() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                RaidHealth health = new RaidHealth(MAX_HEALTH);
+                AtomicInteger defeats = new AtomicInteger();
+                LongAdder landed = new LongAdder();
+                race(pool, thread -> {
+                    UUID player = UUID.randomUUID();
+                    while (true) {
+                        RaidHealth.Outcome outcome = health.applyDamage(player, DAMAGE);
+                        if (outcome == RaidHealth.Outcome.REJECTED) return;
+                        landed.increment();
+                        if (outcome == RaidHealth.Outcome.DEFEATED) defeats.incrementAndGet();
+                    }
+                });
+
+                assertEquals(1, defeats.get(), "defeats in round " + round);
+                assertEquals(0, health.getCurrentHealth());
+                assertEquals(RaidHealth.Phase.DEFEATED, health.getPhase());
+                assertEquals((MAX_HEALTH + DAMAGE - 1) / DAMAGE, landed.sum(), "landed hits in round " + round);
+                long recorded = health.snapshotDamagers().values().stream().mapToLong(Long::longValue).sum();
+                assertEquals(landed.sum() * DAMAGE, recorded, "recorded damage in round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void exactlyOneCallerEntersTheCatchPhase() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                RaidHealth health = new RaidHealth(1);
+                assertEquals(RaidHealth.Outcome.DEFEATED, health.applyDamage(UUID.randomUUID(), 1));
+                AtomicInteger winners = new AtomicInteger();
+                race(pool, thread -> {
+                    if (health.transition(RaidHealth.Phase.DEFEATED, RaidHealth.Phase.CATCH_PHASE)) winners.incrementAndGet();
+                });
+                assertEquals(1, winners.get(), "catch phase winners in round " + round);
+                assertEquals(RaidHealth.Phase.CATCH_PHASE, health.getPhase());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void noHitLandsAfterTheRaidEnds() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                RaidHealth health = new RaidHealth(MAX_HEALTH);
+                AtomicInteger defeats = new AtomicInteger();
+                AtomicInteger lateHits = new AtomicInteger();
+                race(pool, thread -> {
+                    if (thread == 0) {
+                        health.end();
+                        return;
+                    }
+                    UUID player = UUID.randomUUID();
+                    while (true) {
+                        boolean endedBefore = health.getPhase() == RaidHealth.Phase.ENDED;
+                        RaidHealth.Outcome outcome = health.applyDamage(player, DAMAGE);
+                        if (outcome == RaidHealth.Outcome.REJECTED) return;
+                        if (endedBefore) lateHits.incrementAndGet();
+                        if (outcome == RaidHealth.Outcome.DEFEATED) defeats.incrementAndGet();
+                    }
+                });
+                assertEquals(0, lateHits.get(), "hits after end in round " + round);
+                assertTrue(defeats.get() <= 1, "defeats in round " + round);
+                assertEquals(RaidHealth.Phase.ENDED, health.getPhase());
+                assertFalse(health.end());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void phasesNeverMoveBackwards() {
+        RaidHealth health = new RaidHealth(MAX_HEALTH);
+        assertThrows(IllegalArgumentException.class, () -> health.transition(RaidHealth.Phase.CATCH_PHASE, RaidHealth.Phase.DEFEATED));
+        assertFalse(health.transition(RaidHealth.Phase.DEFEATED, RaidHealth.Phase.CATCH_PHASE));
+        assertEquals(RaidHealth.Phase.ACTIVE, health.getPhase());
+    }
+
+    /**
+     * Runs {@code task} on every pool thread at once, passing each its index, and waits for all of them.
+     */
+    private static void race(ExecutorService pool, IntConsumer task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.accept(thread);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+}